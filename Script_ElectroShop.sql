@@ -57,6 +57,25 @@ CREATE TABLE detalles_pedido (
   FOREIGN KEY (id_producto) REFERENCES productos(id_producto)
 );
 
+CREATE TABLE claves_idempotencia (
+  id_clave VARCHAR(100) NOT NULL,
+  codigo_estado INT NOT NULL,
+  respuesta TEXT,
+  fecha_creacion DATETIME(6) NOT NULL,
+  PRIMARY KEY (id_clave),
+  INDEX idx_claves_idempotencia_fecha (fecha_creacion)
+);
+
+CREATE TABLE inventarios_franjas (
+  id_franja INT NOT NULL AUTO_INCREMENT,
+  id_producto INT NOT NULL,
+  num_franja INT NOT NULL,
+  cantidad_stock INT NOT NULL,
+  PRIMARY KEY (id_franja),
+  UNIQUE KEY uk_inventarios_franjas (id_producto, num_franja),
+  FOREIGN KEY (id_producto) REFERENCES productos(id_producto)
+);
+
 INSERT INTO tienda_electroshop.categorias_producto VALUES(NULL, "Celulares");
 INSERT INTO tienda_electroshop.categorias_producto VALUES(NULL, "Computadores");
 INSERT INTO tienda_electroshop.categorias_producto VALUES(NULL, "Televisores");
@@ -2,6 +2,8 @@ package co.edu.unbosque.electroshopv2;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Clase principal de la aplicación Spring Boot para la API de Electroshop.
@@ -14,10 +16,17 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * 
  * @SpringBootApplication simplifica la configuración de la aplicación.
  * 
+ * @EnableCaching habilita las cachés en memoria, como la de productos.
+ * 
+ * @EnableScheduling habilita las tareas periódicas, como la limpieza de las
+ * claves de idempotencia vencidas.
+ * 
  * 
  */
 
 @SpringBootApplication
+@EnableCaching
+@EnableScheduling
 public class Electroshopv1Application {
 
 	public static void main(String[] args) {
@@ -1,18 +1,40 @@
 package co.edu.unbosque.electroshopv2.controller;
+import java.util.concurrent.CompletableFuture;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
+import co.edu.unbosque.electroshopv2.exception.NotFoundException;
+import co.edu.unbosque.electroshopv2.model.OrderPageDTO;
+import co.edu.unbosque.electroshopv2.model.OrderResponseDTO;
+import co.edu.unbosque.electroshopv2.model.OrderSummaryDTO;
+import co.edu.unbosque.electroshopv2.model.OrderTicketDTO;
 import co.edu.unbosque.electroshopv2.model.RequestOrderDTO;
-import co.edu.unbosque.electroshopv2.service.CardService;
-import co.edu.unbosque.electroshopv2.service.OrderDetailService;
+import co.edu.unbosque.electroshopv2.service.BulkOrderService;
+import co.edu.unbosque.electroshopv2.service.IdempotencyService;
+import co.edu.unbosque.electroshopv2.service.OrderQueueService;
 import co.edu.unbosque.electroshopv2.service.OrderService;
-import jakarta.transaction.Transactional;
+import co.edu.unbosque.electroshopv2.service.OrderWorkflowService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -35,14 +57,13 @@ import io.swagger.v3.oas.annotations.tags.Tag;
  * La anotación @CrossOrigin(origins = "*") permite que la API acepte solicitudes 
  * desde cualquier origen.
  * 
- * El uso de @Transactional asegura que todas las operaciones dentro de 
- * los métodos del controlador se ejecuten dentro de una transacción, lo que significa 
- * que si ocurre un error, todas las acciones realizadas dentro de esa transacción 
- * serán revertidas.
+ * El controlador no abre transacciones: delega el flujo del pedido en 
+ * OrderWorkflowService, que usa transacciones cortas y no retiene ninguna 
+ * conexión a la base de datos mientras la pasarela autoriza el pago.
  * 
- * Este controlador depende de tres servicios principales: OrderService, 
- * CardService, y OrderDetailService, los cuales se inyectan 
- * utilizando la anotación @Autowired.
+ * Este controlador depende de los servicios OrderWorkflowService, BulkOrderService, 
+ * IdempotencyService, OrderService y OrderQueueService, y del ObjectMapper de la 
+ * aplicación, que se inyectan utilizando la anotación @Autowired.
  * 
  * @author Andres Felipe Espitia Rodriguez
  * @author Johan Sebastian Gomez Beltran
@@ -54,17 +75,25 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 @RestController
 @RequestMapping("/api/pedidos")
 @CrossOrigin(origins = "*")
-@Transactional
 public class OrderController {
 
+    @Autowired
+    private OrderWorkflowService orderWorkflowService;
+
+    @Autowired
+    private BulkOrderService bulkOrderService;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
     @Autowired
     private OrderService orderService;
 
     @Autowired
-    private CardService cardService;
+    private OrderQueueService orderQueueService;
 
     @Autowired
-    private OrderDetailService orderDetailService;
+    private ObjectMapper objectMapper;
 
     /**
      * Constructor de la clase OrderController.
@@ -77,40 +106,175 @@ public class OrderController {
      * Método para procesar un pedido.
      * 
      * Este método maneja las solicitudes POST en la URL /api/pedidos/procesar. 
-     * Se encarga de crear un pedido, validar la tarjeta de crédito y agregar los detalles 
-     * del pedido.
+     * Se encarga de validar la tarjeta de crédito, crear el pedido y agregar los detalles 
+     * del pedido. El hilo de Tomcat solo valida la tarjeta; el registro del pedido y la 
+     * autorización del pago continúan en el ejecutor de tareas de la aplicación.
      * 
      * Recibe como parámetro un objeto RequestOrderDTO que contiene la 
      * información del pedido, la tarjeta de crédito y los detalles del pedido.
      * 
-     * Si el pedido se crea correctamente, devuelve un mensaje de éxito. En caso contrario, 
-     * devuelve un mensaje de error.
+     * Si el pedido se crea correctamente, devuelve un OrderResponseDTO con el identificador 
+     * del pedido, el estado del pago y los productos reservados, que se serializa 
+     * directamente sobre la respuesta. En caso contrario, devuelve un mensaje de error.
+     * 
+     * Si la solicitud trae la cabecera Idempotency-Key, los reintentos con la misma clave 
+     * reciben la respuesta del primer intento sin volver a crear el pedido ni descontar 
+     * el stock. En ese caso la respuesta se guarda ya serializada y se reenvía tal cual.
      * 
      * @param requestOrderDTO Objeto que contiene la información del pedido, tarjeta y detalles.
-     * @return ResponseEntity con el resultado del procesamiento del pedido.
+     * @param idempotencyKey Clave opcional para reconocer los reintentos de un mismo pedido.
+     * @return Futuro con el ResponseEntity del resultado del procesamiento del pedido.
      */
     @Operation(summary = "Procesar un pedido", description = "Crea un pedido, valida la tarjeta y agrega los detalles del pedido.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Pedido procesado con éxito", 
                      content = { @Content(mediaType = "application/json", 
-                     schema = @Schema(implementation = String.class)) }),
+                     schema = @Schema(implementation = OrderResponseDTO.class)) }),
         @ApiResponse(responseCode = "400", description = "Solicitud no válida", content = @Content),
         @ApiResponse(responseCode = "402", description = "Tarjeta no válida", content = @Content),
         @ApiResponse(responseCode = "500", description = "Error en el servidor", content = @Content)
     })
     @PostMapping("/procesar")
-    public ResponseEntity<?> processAnOrder(@Valid @RequestBody RequestOrderDTO requestOrderDTO) {
-        StringBuilder serverResponse = new StringBuilder();
-        if (orderService.createOrder(requestOrderDTO.getOrderDTO())) {
-            serverResponse.append("Pedido creado con éxito...\n");
-        } else {
-            serverResponse.append("Error creando el pedido...\n");
+    public CompletableFuture<ResponseEntity<?>> processAnOrder(@Valid @RequestBody RequestOrderDTO requestOrderDTO,
+            @RequestHeader(name = "Idempotency-Key", required = false) @Size(max = IdempotencyService.MAX_KEY_LENGTH) String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return orderWorkflowService.processOrder(requestOrderDTO).thenApply(ResponseEntity::ok);
+        }
+        return idempotencyService.execute(idempotencyKey, () -> orderWorkflowService.processOrder(requestOrderDTO).thenApply(this::toJson))
+                .thenApply(response -> response.getStatus() == HttpStatus.OK.value()
+                        ? ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(response.getResponse())
+                        : ResponseEntity.status(response.getStatus()).body(response.getResponse()));
+    }
+
+    /**
+     * Serializa la respuesta de un pedido para guardarla con su clave de idempotencia.
+     * 
+     * @param response Pedido registrado.
+     * @return El JSON de la respuesta.
+     */
+    private String toJson(OrderResponseDTO response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar la respuesta del pedido", e);
         }
+    }
+
+    /**
+     * Método para procesar una carga masiva de pedidos.
+     * 
+     * Este método maneja las solicitudes POST en la URL /api/pedidos/lote. Recibe un 
+     * RequestOrderDTO por línea (NDJSON) y responde, también en NDJSON, una línea con 
+     * el resultado de cada pedido a medida que se procesan los lotes. La lectura y el 
+     * procesamiento ocurren fuera del hilo de Tomcat.
+     * 
+     * @param request Solicitud HTTP cuyo cuerpo contiene los pedidos.
+     * @return ResponseEntity con el cuerpo que escribe los resultados.
+     */
+    @Operation(summary = "Procesar pedidos en lote", description = "Procesa un pedido por línea (NDJSON) y devuelve un resultado por línea.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Resultados de los pedidos, uno por línea", 
+                     content = { @Content(mediaType = "application/x-ndjson") }),
+        @ApiResponse(responseCode = "500", description = "Error en el servidor", content = @Content)
+    })
+    @PostMapping(path = "/lote", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> processOrders(HttpServletRequest request) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON)
+                .body(output -> bulkOrderService.processOrders(request.getInputStream(), output));
+    }
+
+    /**
+     * Método para encolar un pedido.
+     * 
+     * Este método maneja las solicitudes POST en la URL /api/pedidos/encolar. Valida la 
+     * solicitud y la tarjeta, deja el pedido en la cola y responde 202 con un token sin 
+     * esperar a que el pedido se registre. El resultado se consulta en la URL de la 
+     * cabecera Location.
+     * 
+     * @param requestOrderDTO Objeto que contiene la información del pedido, tarjeta y detalles.
+     * @return ResponseEntity con el estado PENDIENTE del pedido y su token.
+     */
+    @Operation(summary = "Encolar un pedido", description = "Valida el pedido, lo deja en la cola de procesamiento y devuelve un token para consultar su resultado.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Pedido encolado", 
+                     content = { @Content(mediaType = "application/json", 
+                     schema = @Schema(implementation = OrderTicketDTO.class)) }),
+        @ApiResponse(responseCode = "400", description = "Solicitud no válida", content = @Content),
+        @ApiResponse(responseCode = "402", description = "Tarjeta no válida", content = @Content),
+        @ApiResponse(responseCode = "503", description = "La cola de pedidos está llena", content = @Content)
+    })
+    @PostMapping("/encolar")
+    public ResponseEntity<OrderTicketDTO> enqueueAnOrder(@Valid @RequestBody RequestOrderDTO requestOrderDTO) {
+        OrderTicketDTO ticket = orderQueueService.submit(requestOrderDTO);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).header("Location", "/api/pedidos/solicitudes/" + ticket.getToken())
+                .body(ticket);
+    }
 
-        serverResponse.append(cardService.validateCard(requestOrderDTO.getCardDTO()) + "\n");
+    /**
+     * Método para consultar el estado de un pedido encolado.
+     * 
+     * Este método maneja las solicitudes GET en la URL /api/pedidos/solicitudes/{token}.
+     * 
+     * @param token Token devuelto al encolar el pedido.
+     * @return ResponseEntity con el estado del pedido.
+     */
+    @Operation(summary = "Consultar un pedido encolado", description = "Devuelve el estado de un pedido encolado y, si ya se procesó, su resultado.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Estado del pedido", 
+                     content = { @Content(mediaType = "application/json", 
+                     schema = @Schema(implementation = OrderTicketDTO.class)) }),
+        @ApiResponse(responseCode = "404", description = "Token desconocido o vencido", content = @Content)
+    })
+    @GetMapping("/solicitudes/{token}")
+    public ResponseEntity<OrderTicketDTO> getQueuedOrder(@PathVariable String token) {
+        return ResponseEntity.ok(orderQueueService.status(token)
+                .orElseThrow(() -> new NotFoundException("No existe la solicitud " + token)));
+    }
 
-        serverResponse.append(orderDetailService.addDetails(requestOrderDTO.getOrderDetails()) + "\n");
+    /**
+     * Método para consultar un pedido.
+     * 
+     * Este método maneja las solicitudes GET en la URL /api/pedidos/{orderId} y 
+     * devuelve los datos del pedido con sus productos.
+     * 
+     * @param orderId Identificador del pedido.
+     * @return ResponseEntity con los datos del pedido.
+     */
+    @Operation(summary = "Consultar un pedido", description = "Devuelve los datos de un pedido y sus productos.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Pedido encontrado", 
+                     content = { @Content(mediaType = "application/json", 
+                     schema = @Schema(implementation = OrderSummaryDTO.class)) }),
+        @ApiResponse(responseCode = "404", description = "Pedido no encontrado", content = @Content)
+    })
+    @GetMapping("/{orderId}")
+    public ResponseEntity<OrderSummaryDTO> getOrder(@PathVariable Integer orderId) {
+        return ResponseEntity.ok(orderService.findOrder(orderId));
+    }
 
-        return ResponseEntity.ok(serverResponse.toString());
+    /**
+     * Método para consultar los pedidos de un cliente.
+     * 
+     * Este método maneja las solicitudes GET en la URL /api/pedidos/cliente/{clientId}. 
+     * Las páginas se recorren con el parámetro despues, que recibe el valor next de la 
+     * página anterior.
+     * 
+     * @param clientId Identificador del cliente.
+     * @param after Identificador del último pedido de la página anterior; 0 para la primera.
+     * @param size Cantidad máxima de pedidos de la página, entre 1 y 100.
+     * @return ResponseEntity con la página de pedidos.
+     */
+    @Operation(summary = "Consultar los pedidos de un cliente", description = "Devuelve los pedidos de un cliente por páginas, ordenados por identificador.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página de pedidos", 
+                     content = { @Content(mediaType = "application/json", 
+                     schema = @Schema(implementation = OrderPageDTO.class)) }),
+        @ApiResponse(responseCode = "400", description = "Parámetros de paginación no válidos", content = @Content)
+    })
+    @GetMapping("/cliente/{clientId}")
+    public ResponseEntity<OrderPageDTO> getClientOrders(@PathVariable String clientId,
+            @RequestParam(name = "despues", defaultValue = "0") @Min(0) int after,
+            @RequestParam(name = "limite", defaultValue = "20") @Min(1) @Max(100) int size) {
+        return ResponseEntity.ok(orderService.findClientOrders(clientId, after, size));
     }
 }
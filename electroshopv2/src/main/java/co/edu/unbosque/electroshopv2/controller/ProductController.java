@@ -0,0 +1,137 @@
+package co.edu.unbosque.electroshopv2.controller;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import co.edu.unbosque.electroshopv2.model.CatalogProductDTO;
+import co.edu.unbosque.electroshopv2.service.CatalogService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * Controlador REST para la consulta del catálogo de productos.
+ * 
+ * Todas las consultas se responden desde la copia en memoria del catálogo que 
+ * mantiene CatalogService, sin abrir conexiones a la base de datos. El stock 
+ * publicado puede ir unos instantes por detrás de la tabla inventarios.
+ * 
+ * @author Andres Felipe Espitia Rodriguez
+ * @author Johan Sebastian Gomez Beltran
+ * @author Kevin David Peña Bustos
+ * @author David Esteban López Castillo
+ * @version 2.0
+ */
+@Tag(name = "Productos", description = "Consulta del catálogo de productos")
+@RestController
+@RequestMapping("/api/productos")
+@CrossOrigin(origins = "*")
+public class ProductController {
+
+    @Autowired
+    private CatalogService catalogService;
+
+    /**
+     * Constructor de la clase ProductController.
+     */
+    public ProductController() {
+        // Constructor vacío
+    }
+
+    /**
+     * Método para consultar el catálogo completo.
+     * 
+     * Este método maneja las solicitudes GET en la URL /api/productos.
+     * 
+     * @return ResponseEntity con todos los productos, ordenados por identificador.
+     */
+    @Operation(summary = "Consultar el catálogo", description = "Devuelve todos los productos con su categoría y stock.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Productos del catálogo", 
+                     content = { @Content(mediaType = "application/json", 
+                     array = @ArraySchema(schema = @Schema(implementation = CatalogProductDTO.class))) })
+    })
+    @GetMapping
+    public ResponseEntity<Collection<CatalogProductDTO>> getProducts() {
+        return ResponseEntity.ok(catalogService.findAll());
+    }
+
+    /**
+     * Método para buscar productos.
+     * 
+     * Este método maneja las solicitudes GET en la URL /api/productos/buscar. Busca las 
+     * palabras de q en el nombre del producto y en el de su categoría, sin distinguir 
+     * mayúsculas ni tildes; cada palabra puede ser el comienzo de una palabra del producto.
+     * 
+     * @param query Texto buscado, de hasta 100 caracteres.
+     * @param limit Cantidad máxima de resultados, entre 1 y 100.
+     * @return ResponseEntity con los productos que contienen todas las palabras buscadas.
+     */
+    @Operation(summary = "Buscar productos", description = "Busca productos por las palabras de su nombre o de su categoría.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Productos encontrados", 
+                     content = { @Content(mediaType = "application/json", 
+                     array = @ArraySchema(schema = @Schema(implementation = CatalogProductDTO.class))) }),
+        @ApiResponse(responseCode = "400", description = "Parámetros de búsqueda no válidos", content = @Content)
+    })
+    @GetMapping("/buscar")
+    public ResponseEntity<List<CatalogProductDTO>> searchProducts(@RequestParam(name = "q") @Size(max = 100) String query,
+            @RequestParam(name = "limite", defaultValue = "20") @Min(1) @Max(100) int limit) {
+        return ResponseEntity.ok(catalogService.search(query, limit));
+    }
+
+    /**
+     * Método para consultar un producto.
+     * 
+     * Este método maneja las solicitudes GET en la URL /api/productos/{productId}.
+     * 
+     * @param productId Identificador del producto.
+     * @return ResponseEntity con el producto.
+     */
+    @Operation(summary = "Consultar un producto", description = "Devuelve un producto con su categoría y stock.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Producto encontrado", 
+                     content = { @Content(mediaType = "application/json", 
+                     schema = @Schema(implementation = CatalogProductDTO.class)) }),
+        @ApiResponse(responseCode = "404", description = "Producto no encontrado", content = @Content)
+    })
+    @GetMapping("/{productId}")
+    public ResponseEntity<CatalogProductDTO> getProduct(@PathVariable Integer productId) {
+        return ResponseEntity.ok(catalogService.findProduct(productId));
+    }
+
+    /**
+     * Método para consultar los productos de una categoría.
+     * 
+     * Este método maneja las solicitudes GET en la URL /api/productos/categoria/{categoryId}.
+     * 
+     * @param categoryId Identificador de la categoría.
+     * @return ResponseEntity con los productos de la categoría, vacía si no tiene productos.
+     */
+    @Operation(summary = "Consultar los productos de una categoría", description = "Devuelve los productos de una categoría, ordenados por identificador.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Productos de la categoría", 
+                     content = { @Content(mediaType = "application/json", 
+                     array = @ArraySchema(schema = @Schema(implementation = CatalogProductDTO.class))) })
+    })
+    @GetMapping("/categoria/{categoryId}")
+    public ResponseEntity<List<CatalogProductDTO>> getCategoryProducts(@PathVariable Integer categoryId) {
+        return ResponseEntity.ok(catalogService.findByCategory(categoryId));
+    }
+}
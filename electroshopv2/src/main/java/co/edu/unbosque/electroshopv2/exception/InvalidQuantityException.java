@@ -0,0 +1,46 @@
+package co.edu.unbosque.electroshopv2.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Excepción personalizada para indicar que una línea de un pedido no trae una 
+ * cantidad o trae una cantidad menor que uno.
+ * 
+ * Esta excepción se lanza al calcular el valor total del pedido, antes de 
+ * reservar el stock, por lo que un pedido rechazado por este motivo no deja 
+ * nada registrado.
+ * 
+ * La anotación @ResponseStatus establece el código de estado 
+ * HTTP 400 (BAD_REQUEST) como respuesta cuando se lanza esta excepción.
+ * 
+ * Extiende la clase RuntimeException, por lo que es una excepción no verificada, 
+ * lo que significa que no es obligatorio capturarla explícitamente en el código.
+ * 
+ * @author Andres Felipe Espitia Rodriguez
+ * @author Johan Sebastian Gomez Beltran
+ * @author Kevin David Peña Bustos
+ * @author David Esteban López Castillo
+ * @version 2.0
+ */
+@ResponseStatus(value = HttpStatus.BAD_REQUEST)
+public class InvalidQuantityException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructor por defecto que crea una instancia de InvalidQuantityException.
+     */
+    public InvalidQuantityException() {
+        super();
+    }
+
+    /**
+     * Constructor que permite especificar un mensaje personalizado para la excepción.
+     * 
+     * @param message El mensaje que describe el error.
+     */
+    public InvalidQuantityException(String message) {
+        super(message);
+    }
+}
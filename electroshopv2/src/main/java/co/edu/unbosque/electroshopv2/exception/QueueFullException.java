@@ -0,0 +1,46 @@
+package co.edu.unbosque.electroshopv2.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Excepción personalizada para indicar que la cola de pedidos está llena.
+ * 
+ * Esta excepción se lanza cuando se intenta encolar un pedido y la cola ya
+ * tiene tantos pedidos pendientes como su capacidad, de modo que el cliente
+ * reciba la presión de vuelta en lugar de acumular trabajo sin límite.
+ * 
+ * La anotación @ResponseStatus establece el código de estado 
+ * HTTP 503 (SERVICE_UNAVAILABLE) como respuesta cuando se lanza esta excepción, 
+ * lo que significa que el cliente puede reintentar más tarde.
+ * 
+ * Extiende la clase RuntimeException, por lo que es una excepción no verificada, 
+ * lo que significa que no es obligatorio capturarla explícitamente en el código.
+ * 
+ * @author Andres Felipe Espitia Rodriguez
+ * @author Johan Sebastian Gomez Beltran
+ * @author Kevin David Peña Bustos
+ * @author David Esteban López Castillo
+ * @version 2.0
+ */
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE)
+public class QueueFullException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructor por defecto que crea una instancia de QueueFullException.
+     */
+    public QueueFullException() {
+        super();
+    }
+
+    /**
+     * Constructor que permite especificar un mensaje personalizado para la excepción.
+     * 
+     * @param message El mensaje que describe el error.
+     */
+    public QueueFullException(String message) {
+        super(message);
+    }
+}
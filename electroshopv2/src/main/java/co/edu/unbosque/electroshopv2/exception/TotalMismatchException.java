@@ -0,0 +1,47 @@
+package co.edu.unbosque.electroshopv2.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Excepción personalizada para indicar que el valor total enviado en un pedido 
+ * no coincide con el calculado a partir de los precios de sus productos.
+ * 
+ * Esta excepción se lanza antes de reservar el stock, por lo que un pedido 
+ * rechazado por este motivo no deja nada registrado.
+ * 
+ * La anotación @ResponseStatus establece el código de estado 
+ * HTTP 422 (UNPROCESSABLE_ENTITY) como respuesta cuando se lanza esta excepción, 
+ * lo que significa que la solicitud está bien formada pero su contenido no es 
+ * coherente.
+ * 
+ * Extiende la clase RuntimeException, por lo que es una excepción no verificada, 
+ * lo que significa que no es obligatorio capturarla explícitamente en el código.
+ * 
+ * @author Andres Felipe Espitia Rodriguez
+ * @author Johan Sebastian Gomez Beltran
+ * @author Kevin David Peña Bustos
+ * @author David Esteban López Castillo
+ * @version 2.0
+ */
+@ResponseStatus(value = HttpStatus.UNPROCESSABLE_ENTITY)
+public class TotalMismatchException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructor por defecto que crea una instancia de TotalMismatchException.
+     */
+    public TotalMismatchException() {
+        super();
+    }
+
+    /**
+     * Constructor que permite especificar un mensaje personalizado para la excepción.
+     * 
+     * @param message El mensaje que describe el error.
+     */
+    public TotalMismatchException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,114 @@
+package co.edu.unbosque.electroshopv2.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * (DTO) con el resultado de uno de los pedidos de una carga masiva.
+ * 
+ * Cada pedido del archivo NDJSON produce una línea de respuesta con este
+ * modelo, en el mismo orden en que llegaron los pedidos.
+ * 
+ * @author Andres Felipe Espitia Rodriguez
+ * @author Johan Sebastian Gomez Beltran
+ * @author Kevin David Peña Bustos
+ * @author David Esteban López Castillo
+ * @version 2.0
+ */
+@Schema(description = "Resultado de un pedido dentro de una carga masiva.")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkOrderResultDTO {
+
+	/** Número de línea del pedido en el archivo, empezando en 1. */
+	@Schema(description = "Número de línea del pedido en el archivo", example = "1")
+	private long line;
+
+	/** Código HTTP que habría devuelto el pedido procesado por separado. */
+	@Schema(description = "Código HTTP del resultado del pedido", example = "200")
+	private int status;
+
+	/** Mensaje de error, si el pedido no se procesó. */
+	@Schema(description = "Mensaje de error, si el pedido no se procesó")
+	private String message;
+
+	/** Pedido registrado, si el pedido se procesó con éxito. */
+	@Schema(description = "Pedido registrado, si el pedido se procesó con éxito")
+	private OrderResponseDTO order;
+
+	/**
+	 * Constructor vacío.
+	 */
+	public BulkOrderResultDTO() {
+		// Constructor por defecto
+	}
+
+	/**
+	 * Constructor con todos los atributos del resultado.
+	 * 
+	 * @param line    Número de línea del pedido.
+	 * @param status  Código HTTP del resultado.
+	 * @param message Mensaje de error, o {@code null} si no hubo error.
+	 */
+	public BulkOrderResultDTO(long line, int status, String message) {
+		this.line = line;
+		this.status = status;
+		this.message = message;
+	}
+
+	/**
+	 * @return El número de línea del pedido.
+	 */
+	public long getLine() {
+		return line;
+	}
+
+	/**
+	 * @param line El número de línea del pedido.
+	 */
+	public void setLine(long line) {
+		this.line = line;
+	}
+
+	/**
+	 * @return El código HTTP del resultado.
+	 */
+	public int getStatus() {
+		return status;
+	}
+
+	/**
+	 * @param status El código HTTP del resultado.
+	 */
+	public void setStatus(int status) {
+		this.status = status;
+	}
+
+	/**
+	 * @return El mensaje de error.
+	 */
+	public String getMessage() {
+		return message;
+	}
+
+	/**
+	 * @param message El mensaje de error.
+	 */
+	public void setMessage(String message) {
+		this.message = message;
+	}
+
+	/**
+	 * @return El pedido registrado.
+	 */
+	public OrderResponseDTO getOrder() {
+		return order;
+	}
+
+	/**
+	 * @param order El pedido registrado.
+	 */
+	public void setOrder(OrderResponseDTO order) {
+		this.order = order;
+	}
+}
@@ -0,0 +1,114 @@
+package co.edu.unbosque.electroshopv2.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * (DTO) inmutable con un producto del catálogo, su categoría y su stock.
+ * 
+ * Es inmutable para que el catálogo en memoria pueda compartirse entre hilos
+ * sin bloqueos: un cambio de stock produce un objeto nuevo en lugar de
+ * modificar el que otros hilos podrían estar leyendo.
+ * 
+ * @author Andres Felipe Espitia Rodriguez
+ * @author Johan Sebastian Gomez Beltran
+ * @author Kevin David Peña Bustos
+ * @author David Esteban López Castillo
+ * @version 2.0
+ */
+@Schema(description = "Producto del catálogo.")
+public final class CatalogProductDTO {
+
+	/** Identificador del producto. */
+	@Schema(description = "Identificador del producto", example = "1")
+	private final Integer productId;
+
+	/** Nombre del producto. */
+	@Schema(description = "Nombre del producto", example = "Celular REDMI Note 13 Pro")
+	private final String name;
+
+	/** Precio del producto. */
+	@Schema(description = "Precio del producto", example = "999900")
+	private final Long value;
+
+	/** Identificador de la categoría del producto. */
+	@Schema(description = "Identificador de la categoría", example = "1")
+	private final Integer categoryId;
+
+	/** Nombre de la categoría del producto. */
+	@Schema(description = "Nombre de la categoría", example = "Celulares")
+	private final String categoryName;
+
+	/** Unidades disponibles. */
+	@Schema(description = "Unidades disponibles", example = "25")
+	private final int stock;
+
+	/**
+	 * Constructor con todos los atributos del producto.
+	 * 
+	 * @param productId    Identificador del producto.
+	 * @param name         Nombre del producto.
+	 * @param value        Precio del producto.
+	 * @param categoryId   Identificador de la categoría.
+	 * @param categoryName Nombre de la categoría.
+	 * @param stock        Unidades disponibles.
+	 */
+	public CatalogProductDTO(Integer productId, String name, Long value, Integer categoryId, String categoryName,
+			int stock) {
+		this.productId = productId;
+		this.name = name;
+		this.value = value;
+		this.categoryId = categoryId;
+		this.categoryName = categoryName;
+		this.stock = stock;
+	}
+
+	/**
+	 * @param stock Unidades disponibles.
+	 * @return Una copia del producto con otro stock.
+	 */
+	public CatalogProductDTO withStock(int stock) {
+		return new CatalogProductDTO(productId, name, value, categoryId, categoryName, stock);
+	}
+
+	/**
+	 * @return El identificador del producto.
+	 */
+	public Integer getProductId() {
+		return productId;
+	}
+
+	/**
+	 * @return El nombre del producto.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return El precio del producto.
+	 */
+	public Long getValue() {
+		return value;
+	}
+
+	/**
+	 * @return El identificador de la categoría.
+	 */
+	public Integer getCategoryId() {
+		return categoryId;
+	}
+
+	/**
+	 * @return El nombre de la categoría.
+	 */
+	public String getCategoryName() {
+		return categoryName;
+	}
+
+	/**
+	 * @return Las unidades disponibles.
+	 */
+	public int getStock() {
+		return stock;
+	}
+}
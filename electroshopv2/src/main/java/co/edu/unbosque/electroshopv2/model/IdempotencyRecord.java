@@ -0,0 +1,140 @@
+package co.edu.unbosque.electroshopv2.model;
+
+import java.time.Instant;
+
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+
+/**
+ * Clase que representa la respuesta guardada para una clave de idempotencia.
+ * 
+ * Cuando un cliente reintenta un pedido con la misma cabecera
+ * {@code Idempotency-Key}, se devuelve esta respuesta en lugar de procesar el
+ * pedido otra vez.
+ * 
+ * Implementa @linkPersistable porque su identificador lo asigna el cliente: así
+ * guardarla es una inserción directa, sin consultar antes si ya existe.
+ * 
+ * @author Andres Felipe Espitia Rodriguez
+ * @author Johan Sebastian Gomez Beltran
+ * @author Kevin David Peña Bustos
+ * @author David Esteban López Castillo
+ * @version 2.0
+ */
+@Entity
+@Table(name = "claves_idempotencia")
+public class IdempotencyRecord implements Persistable<String> {
+
+	/**
+	 * Clave de idempotencia enviada por el cliente.
+	 */
+	@Id
+	@Column(name = "id_clave", length = 100)
+	private String key;
+
+	/**
+	 * Código HTTP de la respuesta original.
+	 */
+	@Column(name = "codigo_estado", nullable = false)
+	private int status;
+
+	/**
+	 * Cuerpo de la respuesta original.
+	 */
+	@Column(name = "respuesta", columnDefinition = "TEXT")
+	private String response;
+
+	/**
+	 * Momento en que se guardó la respuesta.
+	 */
+	@Column(name = "fecha_creacion", nullable = false)
+	private Instant createdAt;
+
+	/**
+	 * Indica si la respuesta aún no ha sido guardada en la base de datos.
+	 */
+	@Transient
+	private boolean newRecord = true;
+
+	/**
+	 * Constructor vacío por defecto.
+	 */
+	public IdempotencyRecord() {
+		// Constructor por defecto
+	}
+
+	/**
+	 * Constructor con todos los atributos de la respuesta.
+	 * 
+	 * @param key       Clave de idempotencia.
+	 * @param status    Código HTTP de la respuesta.
+	 * @param response  Cuerpo de la respuesta.
+	 * @param createdAt Momento en que se guardó la respuesta.
+	 */
+	public IdempotencyRecord(String key, int status, String response, Instant createdAt) {
+		this.key = key;
+		this.status = status;
+		this.response = response;
+		this.createdAt = createdAt;
+	}
+
+	/**
+	 * @return La clave de idempotencia.
+	 */
+	public String getKey() {
+		return key;
+	}
+
+	/**
+	 * @return El código HTTP de la respuesta.
+	 */
+	public int getStatus() {
+		return status;
+	}
+
+	/**
+	 * @return El cuerpo de la respuesta.
+	 */
+	public String getResponse() {
+		return response;
+	}
+
+	/**
+	 * @return El momento en que se guardó la respuesta.
+	 */
+	public Instant getCreatedAt() {
+		return createdAt;
+	}
+
+	/**
+	 * @return La clave de idempotencia.
+	 */
+	@Override
+	public String getId() {
+		return key;
+	}
+
+	/**
+	 * @return {@code true} si la respuesta no ha sido guardada ni cargada.
+	 */
+	@Override
+	public boolean isNew() {
+		return newRecord;
+	}
+
+	/**
+	 * Marca la respuesta como existente una vez guardada o cargada.
+	 */
+	@PostLoad
+	@PostPersist
+	void markNotNew() {
+		this.newRecord = false;
+	}
+}
@@ -39,7 +39,7 @@ public class OrderDTO {
 	private PaymentMethod paymentMethod;
 
 	/** El valor total del pedido */
-	@Schema(description = "Valor total del pedido", example = "50000", required = true, minimum = "0")
+	@Schema(description = "Valor total del pedido; debe coincidir con la suma de los precios de sus productos", example = "2999700", required = true, minimum = "0")
 	@Range(min = 0, message = "El valor de la compra no debe ser 0")
 	private Long totalValue;
 
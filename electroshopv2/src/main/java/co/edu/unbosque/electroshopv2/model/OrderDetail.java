@@ -1,15 +1,24 @@
 package co.edu.unbosque.electroshopv2.model;
 
+import org.springframework.data.domain.Persistable;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.EmbeddedId;
 import jakarta.persistence.Entity;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 
 /**
  * Clase que representa los detalles de un pedido en el sistema.
  * Esta clase mapea la tabla "detalles_pedido" en la base de datos, donde se almacena la información
  * relacionada con los productos solicitados en cada pedido.
  * 
+ * Implementa @linkPersistable porque su identificador se asigna antes de guardar:
+ * así Spring Data inserta los detalles nuevos directamente, en lote, en lugar de
+ * consultar cada fila para decidir entre insertar o actualizar.
+ * 
  * @author Andres Felipe Espitia Rodriguez
  * @author Johan Sebastian Gomez Beltran
  * @author Kevin David Peña Bustos
@@ -18,7 +27,7 @@ import jakarta.persistence.Table;
  */
 @Entity
 @Table(name = "detalles_pedido")
-public class OrderDetail {
+public class OrderDetail implements Persistable<EmbeddedIdOrderDetail> {
 	
     /**
      * Identificador compuesto para el detalle del pedido. Este identificador se almacena
@@ -33,6 +42,12 @@ public class OrderDetail {
 	@Column(name = "cantidad_producto_pedido")
 	private Integer quantity;
 
+	/**
+	 * Indica si el detalle aún no ha sido guardado en la base de datos.
+	 */
+	@Transient
+	private boolean newDetail = true;
+
 	/**
 	 * Constructor vacío por defecto.
 	 */
@@ -87,5 +102,34 @@ public class OrderDetail {
 	public void setQuantity(Integer quantity) {
 		this.quantity = quantity;
 	}
+
+	/**
+	 * Obtiene el identificador compuesto del detalle del pedido.
+	 * 
+	 * @return el identificador compuesto del detalle del pedido
+	 */
+	@Override
+	public EmbeddedIdOrderDetail getId() {
+		return orderDetailId;
+	}
+
+	/**
+	 * Indica si el detalle debe insertarse como una fila nueva.
+	 * 
+	 * @return {@code true} si el detalle no ha sido guardado ni cargado
+	 */
+	@Override
+	public boolean isNew() {
+		return newDetail;
+	}
+
+	/**
+	 * Marca el detalle como existente una vez guardado o cargado.
+	 */
+	@PostLoad
+	@PostPersist
+	void markNotNew() {
+		this.newDetail = false;
+	}
 	
 }
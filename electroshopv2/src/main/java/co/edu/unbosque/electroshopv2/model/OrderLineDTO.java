@@ -0,0 +1,95 @@
+package co.edu.unbosque.electroshopv2.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * (DTO) de solo lectura con un producto de un pedido registrado, construido
+ * directamente en la consulta JPQL. En la respuesta de un pedido recién
+ * registrado no lleva el nombre del producto.
+ * 
+ * @author Andres Felipe Espitia Rodriguez
+ * @author Johan Sebastian Gomez Beltran
+ * @author Kevin David Peña Bustos
+ * @author David Esteban López Castillo
+ * @version 2.0
+ */
+@Schema(description = "Producto de un pedido registrado.")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderLineDTO {
+
+	/** Identificador del producto. */
+	@Schema(description = "Identificador del producto", example = "1")
+	private Integer productId;
+
+	/** Nombre del producto. */
+	@Schema(description = "Nombre del producto", example = "Celular REDMI Note 13 Pro")
+	private String productName;
+
+	/** Cantidad pedida. */
+	@Schema(description = "Cantidad pedida", example = "3")
+	private Integer quantity;
+
+	/**
+	 * Constructor vacío.
+	 */
+	public OrderLineDTO() {
+		// Constructor por defecto
+	}
+
+	/**
+	 * Constructor usado por las consultas de @linkOrderDetailRepository.
+	 * 
+	 * @param productId   Identificador del producto.
+	 * @param productName Nombre del producto.
+	 * @param quantity    Cantidad pedida.
+	 */
+	public OrderLineDTO(Integer productId, String productName, Integer quantity) {
+		this.productId = productId;
+		this.productName = productName;
+		this.quantity = quantity;
+	}
+
+	/**
+	 * @return El identificador del producto.
+	 */
+	public Integer getProductId() {
+		return productId;
+	}
+
+	/**
+	 * @param productId El identificador del producto.
+	 */
+	public void setProductId(Integer productId) {
+		this.productId = productId;
+	}
+
+	/**
+	 * @return El nombre del producto.
+	 */
+	public String getProductName() {
+		return productName;
+	}
+
+	/**
+	 * @param productName El nombre del producto.
+	 */
+	public void setProductName(String productName) {
+		this.productName = productName;
+	}
+
+	/**
+	 * @return La cantidad pedida.
+	 */
+	public Integer getQuantity() {
+		return quantity;
+	}
+
+	/**
+	 * @param quantity La cantidad pedida.
+	 */
+	public void setQuantity(Integer quantity) {
+		this.quantity = quantity;
+	}
+}
@@ -0,0 +1,74 @@
+package co.edu.unbosque.electroshopv2.model;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * (DTO) con una página de pedidos de un cliente.
+ * 
+ * La página siguiente se pide con {@code despues=next}: la consulta continúa
+ * desde el último pedido entregado en lugar de contar y saltar filas, así que
+ * cuesta lo mismo en la primera página que en la milésima.
+ * 
+ * @author Andres Felipe Espitia Rodriguez
+ * @author Johan Sebastian Gomez Beltran
+ * @author Kevin David Peña Bustos
+ * @author David Esteban López Castillo
+ * @version 2.0
+ */
+@Schema(description = "Página de pedidos de un cliente.")
+public class OrderPageDTO {
+
+	/** Pedidos de la página, ordenados por identificador. */
+	@Schema(description = "Pedidos de la página, ordenados por identificador")
+	private List<OrderSummaryDTO> orders;
+
+	/** Valor de {@code despues} para la página siguiente, o {@code null} si no hay más. */
+	@Schema(description = "Valor de despues para pedir la página siguiente; null si no hay más", example = "20")
+	private Integer next;
+
+	/**
+	 * Constructor vacío.
+	 */
+	public OrderPageDTO() {
+		// Constructor por defecto
+	}
+
+	/**
+	 * @param orders Pedidos de la página.
+	 * @param next   Valor de {@code despues} para la página siguiente.
+	 */
+	public OrderPageDTO(List<OrderSummaryDTO> orders, Integer next) {
+		this.orders = orders;
+		this.next = next;
+	}
+
+	/**
+	 * @return Los pedidos de la página.
+	 */
+	public List<OrderSummaryDTO> getOrders() {
+		return orders;
+	}
+
+	/**
+	 * @param orders Los pedidos de la página.
+	 */
+	public void setOrders(List<OrderSummaryDTO> orders) {
+		this.orders = orders;
+	}
+
+	/**
+	 * @return El valor de {@code despues} para la página siguiente.
+	 */
+	public Integer getNext() {
+		return next;
+	}
+
+	/**
+	 * @param next El valor de {@code despues} para la página siguiente.
+	 */
+	public void setNext(Integer next) {
+		this.next = next;
+	}
+}
@@ -0,0 +1,144 @@
+package co.edu.unbosque.electroshopv2.model;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * (DTO) con el resultado de un pedido registrado con éxito.
+ * 
+ * Reemplaza el texto de varias líneas que antes devolvía
+ * {@code /api/pedidos/procesar}: los clientes leen cada dato por su nombre en
+ * lugar de extraerlo del mensaje. Los atributos nulos no se escriben.
+ * 
+ * @author Andres Felipe Espitia Rodriguez
+ * @author Johan Sebastian Gomez Beltran
+ * @author Kevin David Peña Bustos
+ * @author David Esteban López Castillo
+ * @version 2.0
+ */
+@Schema(description = "Resultado de un pedido registrado.")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderResponseDTO {
+
+	/** Estado del pago de un pedido aprobado por la pasarela. */
+	public static final String APPROVED = "APROBADO";
+
+	/** Identificador del pedido. */
+	@Schema(description = "Identificador del pedido", example = "1")
+	private Integer orderId;
+
+	/** Estado del pago. */
+	@Schema(description = "Estado del pago", example = "APROBADO")
+	private String paymentStatus;
+
+	/** Momento en que la pasarela aprobó el pago. */
+	@Schema(description = "Momento en que la pasarela aprobó el pago", example = "2024-10-01T15:30:12.345Z")
+	private Instant authorizedAt;
+
+	/** Valor total del pedido. */
+	@Schema(description = "Valor total del pedido", example = "2999700")
+	private Long totalValue;
+
+	/** Productos reservados, uno por producto. */
+	@Schema(description = "Productos reservados, uno por producto")
+	private List<OrderLineDTO> details;
+
+	/**
+	 * Constructor vacío.
+	 */
+	public OrderResponseDTO() {
+		// Constructor por defecto
+	}
+
+	/**
+	 * Constructor con todos los atributos del resultado.
+	 * 
+	 * @param orderId       Identificador del pedido.
+	 * @param paymentStatus Estado del pago.
+	 * @param authorizedAt  Momento en que la pasarela aprobó el pago.
+	 * @param totalValue    Valor total del pedido.
+	 * @param details       Productos reservados.
+	 */
+	public OrderResponseDTO(Integer orderId, String paymentStatus, Instant authorizedAt, Long totalValue,
+			List<OrderLineDTO> details) {
+		this.orderId = orderId;
+		this.paymentStatus = paymentStatus;
+		this.authorizedAt = authorizedAt;
+		this.totalValue = totalValue;
+		this.details = details;
+	}
+
+	/**
+	 * @return El identificador del pedido.
+	 */
+	public Integer getOrderId() {
+		return orderId;
+	}
+
+	/**
+	 * @param orderId El identificador del pedido.
+	 */
+	public void setOrderId(Integer orderId) {
+		this.orderId = orderId;
+	}
+
+	/**
+	 * @return El estado del pago.
+	 */
+	public String getPaymentStatus() {
+		return paymentStatus;
+	}
+
+	/**
+	 * @param paymentStatus El estado del pago.
+	 */
+	public void setPaymentStatus(String paymentStatus) {
+		this.paymentStatus = paymentStatus;
+	}
+
+	/**
+	 * @return El momento en que la pasarela aprobó el pago.
+	 */
+	public Instant getAuthorizedAt() {
+		return authorizedAt;
+	}
+
+	/**
+	 * @param authorizedAt El momento en que la pasarela aprobó el pago.
+	 */
+	public void setAuthorizedAt(Instant authorizedAt) {
+		this.authorizedAt = authorizedAt;
+	}
+
+	/**
+	 * @return El valor total del pedido.
+	 */
+	public Long getTotalValue() {
+		return totalValue;
+	}
+
+	/**
+	 * @param totalValue El valor total del pedido.
+	 */
+	public void setTotalValue(Long totalValue) {
+		this.totalValue = totalValue;
+	}
+
+	/**
+	 * @return Los productos reservados.
+	 */
+	public List<OrderLineDTO> getDetails() {
+		return details;
+	}
+
+	/**
+	 * @param details Los productos reservados.
+	 */
+	public void setDetails(List<OrderLineDTO> details) {
+		this.details = details;
+	}
+}
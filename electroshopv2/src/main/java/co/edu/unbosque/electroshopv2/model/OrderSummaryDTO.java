@@ -0,0 +1,137 @@
+package co.edu.unbosque.electroshopv2.model;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * (DTO) de solo lectura con los datos de un pedido.
+ * 
+ * Se construye directamente en la consulta JPQL, por lo que leer un pedido no
+ * carga las entidades @linkOrder, @linkClient ni @linkPaymentMethod. Los
+ * detalles solo se incluyen al consultar un pedido por su identificador.
+ * 
+ * @author Andres Felipe Espitia Rodriguez
+ * @author Johan Sebastian Gomez Beltran
+ * @author Kevin David Peña Bustos
+ * @author David Esteban López Castillo
+ * @version 2.0
+ */
+@Schema(description = "Datos de un pedido registrado.")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderSummaryDTO {
+
+	/** Identificador del pedido. */
+	@Schema(description = "Identificador del pedido", example = "1")
+	private Integer orderId;
+
+	/** Identificador del cliente que realizó el pedido. */
+	@Schema(description = "Identificador del cliente", example = "1234517891")
+	private String clientId;
+
+	/** Nombre del método de pago, si el pedido tiene uno. */
+	@Schema(description = "Nombre del método de pago", example = "Debito")
+	private String paymentMethod;
+
+	/** Valor total del pedido. */
+	@Schema(description = "Valor total del pedido", example = "2999700")
+	private Long totalValue;
+
+	/** Detalles del pedido, o {@code null} en los listados. */
+	@Schema(description = "Productos del pedido, solo al consultarlo por identificador")
+	private List<OrderLineDTO> details;
+
+	/**
+	 * Constructor vacío.
+	 */
+	public OrderSummaryDTO() {
+		// Constructor por defecto
+	}
+
+	/**
+	 * Constructor usado por las consultas de @linkOrderRepository.
+	 * 
+	 * @param orderId       Identificador del pedido.
+	 * @param clientId      Identificador del cliente.
+	 * @param paymentMethod Nombre del método de pago.
+	 * @param totalValue    Valor total del pedido.
+	 */
+	public OrderSummaryDTO(Integer orderId, String clientId, String paymentMethod, Long totalValue) {
+		this.orderId = orderId;
+		this.clientId = clientId;
+		this.paymentMethod = paymentMethod;
+		this.totalValue = totalValue;
+	}
+
+	/**
+	 * @return El identificador del pedido.
+	 */
+	public Integer getOrderId() {
+		return orderId;
+	}
+
+	/**
+	 * @param orderId El identificador del pedido.
+	 */
+	public void setOrderId(Integer orderId) {
+		this.orderId = orderId;
+	}
+
+	/**
+	 * @return El identificador del cliente.
+	 */
+	public String getClientId() {
+		return clientId;
+	}
+
+	/**
+	 * @param clientId El identificador del cliente.
+	 */
+	public void setClientId(String clientId) {
+		this.clientId = clientId;
+	}
+
+	/**
+	 * @return El nombre del método de pago.
+	 */
+	public String getPaymentMethod() {
+		return paymentMethod;
+	}
+
+	/**
+	 * @param paymentMethod El nombre del método de pago.
+	 */
+	public void setPaymentMethod(String paymentMethod) {
+		this.paymentMethod = paymentMethod;
+	}
+
+	/**
+	 * @return El valor total del pedido.
+	 */
+	public Long getTotalValue() {
+		return totalValue;
+	}
+
+	/**
+	 * @param totalValue El valor total del pedido.
+	 */
+	public void setTotalValue(Long totalValue) {
+		this.totalValue = totalValue;
+	}
+
+	/**
+	 * @return Los detalles del pedido.
+	 */
+	public List<OrderLineDTO> getDetails() {
+		return details;
+	}
+
+	/**
+	 * @param details Los detalles del pedido.
+	 */
+	public void setDetails(List<OrderLineDTO> details) {
+		this.details = details;
+	}
+}
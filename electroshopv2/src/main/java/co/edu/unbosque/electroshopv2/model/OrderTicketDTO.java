@@ -0,0 +1,146 @@
+package co.edu.unbosque.electroshopv2.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * (DTO) con el estado de un pedido recibido en la cola de pedidos.
+ * 
+ * Mientras el pedido espera en la cola su estado es {@code PENDIENTE} y no
+ * tiene código ni resultado. Cuando un trabajador lo procesa, pasa a
+ * {@code COMPLETADO} con el pedido registrado o a {@code RECHAZADO} con el
+ * código HTTP y el mensaje de error que habría devuelto
+ * {@code /api/pedidos/procesar}.
+ * 
+ * @author Andres Felipe Espitia Rodriguez
+ * @author Johan Sebastian Gomez Beltran
+ * @author Kevin David Peña Bustos
+ * @author David Esteban López Castillo
+ * @version 2.0
+ */
+@Schema(description = "Estado de un pedido encolado.")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderTicketDTO {
+
+	/** Estado de un pedido que aún no se procesa. */
+	public static final String PENDING = "PENDIENTE";
+
+	/** Estado de un pedido registrado con éxito. */
+	public static final String COMPLETED = "COMPLETADO";
+
+	/** Estado de un pedido que no se pudo registrar. */
+	public static final String REJECTED = "RECHAZADO";
+
+	/** Token con el que se consulta el pedido. */
+	@Schema(description = "Token con el que se consulta el pedido", example = "5f0c6c3e-6a4f-4f7e-9d0b-2b7f5f0e8c1a")
+	private String token;
+
+	/** Estado del pedido. */
+	@Schema(description = "Estado del pedido", example = "PENDIENTE")
+	private String status;
+
+	/** Código HTTP del resultado, o {@code null} si aún no se procesa. */
+	@Schema(description = "Código HTTP del resultado, si ya se procesó", example = "200")
+	private Integer code;
+
+	/** Mensaje de error, o {@code null} si el pedido no fue rechazado. */
+	@Schema(description = "Mensaje de error, si el pedido fue rechazado")
+	private String message;
+
+	/** Pedido registrado, si el pedido se completó. */
+	@Schema(description = "Pedido registrado, si el pedido se completó")
+	private OrderResponseDTO order;
+
+	/**
+	 * Constructor vacío.
+	 */
+	public OrderTicketDTO() {
+		// Constructor por defecto
+	}
+
+	/**
+	 * Constructor con todos los atributos del estado.
+	 * 
+	 * @param token   Token del pedido.
+	 * @param status  Estado del pedido.
+	 * @param code    Código HTTP del resultado.
+	 * @param message Mensaje de error, o {@code null} si no hubo error.
+	 */
+	public OrderTicketDTO(String token, String status, Integer code, String message) {
+		this.token = token;
+		this.status = status;
+		this.code = code;
+		this.message = message;
+	}
+
+	/**
+	 * @return El token del pedido.
+	 */
+	public String getToken() {
+		return token;
+	}
+
+	/**
+	 * @param token El token del pedido.
+	 */
+	public void setToken(String token) {
+		this.token = token;
+	}
+
+	/**
+	 * @return El estado del pedido.
+	 */
+	public String getStatus() {
+		return status;
+	}
+
+	/**
+	 * @param status El estado del pedido.
+	 */
+	public void setStatus(String status) {
+		this.status = status;
+	}
+
+	/**
+	 * @return El código HTTP del resultado.
+	 */
+	public Integer getCode() {
+		return code;
+	}
+
+	/**
+	 * @param code El código HTTP del resultado.
+	 */
+	public void setCode(Integer code) {
+		this.code = code;
+	}
+
+	/**
+	 * @return El mensaje de error.
+	 */
+	public String getMessage() {
+		return message;
+	}
+
+	/**
+	 * @param message El mensaje de error.
+	 */
+	public void setMessage(String message) {
+		this.message = message;
+	}
+
+	/**
+	 * @return El pedido registrado.
+	 */
+	public OrderResponseDTO getOrder() {
+		return order;
+	}
+
+	/**
+	 * @param order El pedido registrado.
+	 */
+	public void setOrder(OrderResponseDTO order) {
+		this.order = order;
+	}
+}
@@ -2,6 +2,11 @@ package co.edu.unbosque.electroshopv2.model;
 
 import java.util.Set;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -19,6 +24,10 @@ import io.swagger.v3.oas.annotations.media.Schema;
  * métodos de pago disponibles. Cada método de pago puede estar asociado a
  * múltiples pedidos.
  * 
+ * Los métodos de pago casi nunca cambian, así que la entidad es inmutable y se
+ * guarda en la caché de segundo nivel de Hibernate como solo lectura: una vez
+ * leído, un método de pago no vuelve a consultarse en la base de datos.
+ * 
  * @author Andres Felipe Espitia Rodriguez
  * @author Johan Sebastian Gomez Beltran
  * @author Kevin David Peña Bustos
@@ -26,6 +35,9 @@ import io.swagger.v3.oas.annotations.media.Schema;
  * @version 2.0
  */
 @Entity
+@Immutable
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "metodos_pago")
 @Table(name = "metodos_pago")
 @Schema(description = "Entidad que representa un método de pago en el sistema.")
 public class PaymentMethod {
@@ -2,6 +2,7 @@ package co.edu.unbosque.electroshopv2.model;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -24,6 +25,7 @@ import jakarta.persistence.Table;
  * @version 2.0
  */
 @Entity
+@EntityListeners(ProductEntityListener.class)
 @Table(name = "productos")
 public class Product {
 
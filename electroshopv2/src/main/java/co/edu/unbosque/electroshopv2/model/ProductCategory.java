@@ -2,9 +2,14 @@ package co.edu.unbosque.electroshopv2.model;
 
 import java.util.Set;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -19,6 +24,10 @@ import jakarta.persistence.Table;
  * 
  * Cada categoría puede estar asociada a múltiples productos.
  * 
+ * Las categorías se guardan en la caché de segundo nivel de Hibernate. Como se
+ * pueden modificar a través de JPA, la caché se invalida cuando se confirma el
+ * cambio ({@code NONSTRICT_READ_WRITE}) en lugar de ser de solo lectura.
+ * 
  * @author Andres Felipe Espitia Rodriguez
  * @author Johan Sebastian Gomez Beltran
  * @author Kevin David Peña Bustos
@@ -26,6 +35,9 @@ import jakarta.persistence.Table;
  * @version 2.0
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "categorias_producto")
+@EntityListeners(ProductEntityListener.class)
 @Table(name = "categorias_producto")
 public class ProductCategory {
 
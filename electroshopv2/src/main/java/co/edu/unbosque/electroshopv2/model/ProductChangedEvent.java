@@ -0,0 +1,46 @@
+package co.edu.unbosque.electroshopv2.model;
+
+/**
+ * Evento publicado cuando se crea, modifica o elimina un producto o una
+ * categoría de producto.
+ * 
+ * Permite que las copias en memoria del catálogo se invaliden sin que quien
+ * modifica los productos tenga que conocerlas.
+ * 
+ * @author Andres Felipe Espitia Rodriguez
+ * @author Johan Sebastian Gomez Beltran
+ * @author Kevin David Peña Bustos
+ * @author David Esteban López Castillo
+ * @version 2.0
+ */
+public class ProductChangedEvent {
+
+	/** Identificador del producto modificado, o {@code null} si cambió una categoría. */
+	private final Integer productId;
+
+	/**
+	 * Constructor que indica el producto modificado.
+	 * 
+	 * @param productId Identificador del producto, o {@code null} si el cambio
+	 *                  afecta a todos los productos de una categoría.
+	 */
+	public ProductChangedEvent(Integer productId) {
+		this.productId = productId;
+	}
+
+	/**
+	 * @return El identificador del producto modificado, o {@code null} si el cambio
+	 *         afecta a varios productos.
+	 */
+	public Integer getProductId() {
+		return productId;
+	}
+
+	/**
+	 * @return {@code true} si el cambio afecta a todos los productos de una
+	 *         categoría y no a uno solo.
+	 */
+	public boolean affectsAllProducts() {
+		return productId == null;
+	}
+}
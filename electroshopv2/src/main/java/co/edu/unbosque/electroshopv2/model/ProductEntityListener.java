@@ -0,0 +1,45 @@
+package co.edu.unbosque.electroshopv2.model;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Listener JPA de @linkProduct y @linkProductCategory que publica un
+ * @linkProductChangedEvent cada vez que una de esas filas cambia.
+ * 
+ * Hibernate obtiene este listener del contenedor de Spring, por lo que puede
+ * recibir dependencias inyectadas.
+ * 
+ * @author Andres Felipe Espitia Rodriguez
+ * @author Johan Sebastian Gomez Beltran
+ * @author Kevin David Peña Bustos
+ * @author David Esteban López Castillo
+ * @version 2.0
+ */
+@Component
+public class ProductEntityListener {
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	/**
+	 * Publica el cambio de la entidad modificada.
+	 * 
+	 * @param entity Producto o categoría que se guardó o eliminó.
+	 */
+	@PostPersist
+	@PostUpdate
+	@PostRemove
+	void publishChange(Object entity) {
+		if (entity instanceof Product product) {
+			eventPublisher.publishEvent(new ProductChangedEvent(product.getProductId()));
+		} else {
+			eventPublisher.publishEvent(new ProductChangedEvent(null));
+		}
+	}
+}
@@ -1,6 +1,7 @@
 package co.edu.unbosque.electroshopv2.model;
 
 import java.util.List;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import io.swagger.v3.oas.annotations.media.Schema;
 
@@ -21,6 +22,7 @@ public class RequestOrderDTO {
 	 * Objeto que contiene los detalles del pedido.
 	 */
 	@Schema(description = "Detalles del pedido", required = true)
+	@Valid
 	@NotNull(message = "El pedido no puede estar vacío")
 	private OrderDTO orderDTO;
 
@@ -36,7 +38,7 @@ public class RequestOrderDTO {
 	 */
 	@Schema(description = "Detalles de los productos incluidos en la orden", required = true)
 	@NotNull(message = "Se deben incluir productos")
-	private List<OrderDetailDTO> orderDetails;
+	private List<@Valid OrderDetailDTO> orderDetails;
 
 	/**
 	 * Constructor por defecto.
@@ -1,5 +1,7 @@
 package co.edu.unbosque.electroshopv2.model;
 
+import org.hibernate.annotations.Formula;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -13,6 +15,9 @@ import jakarta.persistence.Table;
 /**
  * Entidad que representa el inventario de productos en la tienda. 
  * Contiene información sobre la cantidad disponible de un producto específico.
+ * 
+ * En el modo de inventario por franjas, parte de la cantidad vive en las filas
+ * @linkStockStripe del producto; {@link #getStock()} devuelve siempre el total.
  */
 @Entity
 @Table(name = "inventarios")
@@ -39,6 +44,12 @@ public class Stock {
     @Column(name = "cantidad_stock")
     private Integer stock;
 
+    /**
+     * Cantidad repartida en las franjas del producto, calculada al cargar la entidad.
+     */
+    @Formula("(SELECT COALESCE(SUM(f.cantidad_stock), 0) FROM inventarios_franjas f WHERE f.id_producto = id_producto)")
+    private Integer stripedStock;
+
     /**
      * Constructor por defecto.
      */
@@ -96,18 +107,22 @@ public class Stock {
     }
 
     /**
-     * Obtiene la cantidad disponible en el inventario para el producto.
+     * Obtiene la cantidad disponible en el inventario para el producto, sumando la
+     * fila de inventarios y sus franjas.
      *
      * @return La cantidad disponible en el inventario.
      */
     public Integer getStock() {
-        return stock;
+        if (stock == null || stripedStock == null) {
+            return stock;
+        }
+        return stock + stripedStock;
     }
 
     /**
-     * Establece la cantidad disponible en el inventario para el producto.
+     * Establece la cantidad de la fila de inventarios, sin contar las franjas.
      *
-     * @param stock La cantidad disponible en el inventario.
+     * @param stock La cantidad disponible en la fila de inventarios.
      */
     public void setStock(Integer stock) {
         this.stock = stock;
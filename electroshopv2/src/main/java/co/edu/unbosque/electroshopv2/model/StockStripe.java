@@ -0,0 +1,92 @@
+package co.edu.unbosque.electroshopv2.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * Entidad que representa una franja del inventario de un producto.
+ * 
+ * En el modo de inventario por franjas, la cantidad de un producto muy vendido
+ * se reparte entre varias filas para que los pedidos concurrentes no esperen
+ * todos el bloqueo de la misma fila de inventarios.
+ * 
+ * @author Andres Felipe Espitia Rodriguez
+ * @author Johan Sebastian Gomez Beltran
+ * @author Kevin David Peña Bustos
+ * @author David Esteban López Castillo
+ * @version 2.0
+ */
+@Entity
+@Table(name = "inventarios_franjas", uniqueConstraints = @UniqueConstraint(columnNames = { "id_producto", "num_franja" }))
+public class StockStripe {
+
+    /**
+     * Identificador único de la franja.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_franja")
+    private Integer stripeId;
+
+    /**
+     * Producto al cual pertenece la franja.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "id_producto", referencedColumnName = "id_producto", nullable = false)
+    private Product product;
+
+    /**
+     * Número de la franja dentro del producto, desde 0.
+     */
+    @Column(name = "num_franja", nullable = false)
+    private Integer stripe;
+
+    /**
+     * Cantidad disponible en la franja.
+     */
+    @Column(name = "cantidad_stock", nullable = false)
+    private Integer stock;
+
+    /**
+     * Constructor por defecto.
+     */
+    public StockStripe() {
+        // Constructor vacío
+    }
+
+    /**
+     * @return El identificador de la franja.
+     */
+    public Integer getStripeId() {
+        return stripeId;
+    }
+
+    /**
+     * @return El producto al cual pertenece la franja.
+     */
+    public Product getProduct() {
+        return product;
+    }
+
+    /**
+     * @return El número de la franja dentro del producto.
+     */
+    public Integer getStripe() {
+        return stripe;
+    }
+
+    /**
+     * @return La cantidad disponible en la franja.
+     */
+    public Integer getStock() {
+        return stock;
+    }
+}
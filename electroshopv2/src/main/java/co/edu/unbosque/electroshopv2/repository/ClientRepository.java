@@ -1,5 +1,8 @@
 package co.edu.unbosque.electroshopv2.repository;
 
+import java.util.List;
+
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 
 import co.edu.unbosque.electroshopv2.model.Client;
@@ -17,4 +20,11 @@ import co.edu.unbosque.electroshopv2.model.Client;
  */
 public interface ClientRepository extends CrudRepository<Client, String> {
 
+    /**
+     * Busca el identificador de todos los clientes sin cargar las entidades.
+     * 
+     * @return Los identificadores de los clientes.
+     */
+    @Query("SELECT c.clientId FROM Client c")
+    List<String> findAllIds();
 }
@@ -0,0 +1,35 @@
+package co.edu.unbosque.electroshopv2.repository;
+
+import java.time.Instant;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import co.edu.unbosque.electroshopv2.model.IdempotencyRecord;
+
+/**
+ * Repositorio para realizar operaciones CRUD
+ * sobre la entidad @linkIdempotencyRecord. 
+ * Extiende de @linkCrudRepository proporcionado por Spring Data JPA.
+ * 
+ * @author Andres Felipe Espitia Rodriguez
+ * @author Johan Sebastian Gomez Beltran
+ * @author Kevin David Peña Bustos
+ * @author David Esteban López Castillo
+ * @version 2.0
+ */
+public interface IdempotencyRecordRepository extends CrudRepository<IdempotencyRecord, String> {
+
+    /**
+     * Elimina las respuestas guardadas antes de un momento dado.
+     * 
+     * @param limit Momento a partir del cual las respuestas siguen vigentes.
+     * @return Número de respuestas eliminadas.
+     */
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.createdAt < :limit")
+    int deleteCreatedBefore(@Param("limit") Instant limit);
+
+}
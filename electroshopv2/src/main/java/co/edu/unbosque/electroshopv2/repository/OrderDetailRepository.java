@@ -1,8 +1,13 @@
 package co.edu.unbosque.electroshopv2.repository;
 
+import java.util.List;
+
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
 import co.edu.unbosque.electroshopv2.model.EmbeddedIdOrderDetail;
+import co.edu.unbosque.electroshopv2.model.OrderLineDTO;
 import co.edu.unbosque.electroshopv2.model.OrderDetail;
 
 /**
@@ -19,4 +24,23 @@ import co.edu.unbosque.electroshopv2.model.OrderDetail;
 
 public interface OrderDetailRepository extends CrudRepository<OrderDetail, EmbeddedIdOrderDetail>{
 
+    /**
+     * Busca los detalles de un pedido.
+     * 
+     * @param orderId Identificador del pedido.
+     * @return Los detalles del pedido, sin cargar sus productos.
+     */
+    @Query("SELECT d FROM OrderDetail d WHERE d.orderDetailId.order.orderId = :orderId")
+    List<OrderDetail> findByOrderId(@Param("orderId") Integer orderId);
+
+    /**
+     * Busca los productos de un pedido sin cargar las entidades.
+     * 
+     * @param orderId Identificador del pedido.
+     * @return Los productos del pedido, ordenados por identificador.
+     */
+    @Query("SELECT new co.edu.unbosque.electroshopv2.model.OrderLineDTO(p.productId, p.name, d.quantity) "
+            + "FROM OrderDetail d JOIN d.orderDetailId.product p WHERE d.orderDetailId.order.orderId = :orderId ORDER BY p.productId")
+    List<OrderLineDTO> findLinesByOrderId(@Param("orderId") Integer orderId);
+
 }
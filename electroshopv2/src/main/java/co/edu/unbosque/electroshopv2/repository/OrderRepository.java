@@ -1,8 +1,15 @@
 package co.edu.unbosque.electroshopv2.repository;
 
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
 import co.edu.unbosque.electroshopv2.model.Order;
+import co.edu.unbosque.electroshopv2.model.OrderSummaryDTO;
 
 /**
  * Repositorio para realizar operaciones CRUD
@@ -18,4 +25,29 @@ import co.edu.unbosque.electroshopv2.model.Order;
 
 public interface OrderRepository extends CrudRepository<Order, Integer>{
 
+    /**
+     * Busca los datos de un pedido sin cargar sus entidades relacionadas.
+     * 
+     * @param orderId Identificador del pedido.
+     * @return Los datos del pedido, o vacío si no existe.
+     */
+    @Query("SELECT new co.edu.unbosque.electroshopv2.model.OrderSummaryDTO(o.orderId, o.client.clientId, p.name, o.totalValue) "
+            + "FROM Order o LEFT JOIN o.paymentMethod p WHERE o.orderId = :orderId")
+    Optional<OrderSummaryDTO> findSummaryById(@Param("orderId") Integer orderId);
+
+    /**
+     * Busca los pedidos de un cliente posteriores a uno dado (paginación por
+     * llave). Recorre el índice de pedidos por cliente desde {@code after}, sin
+     * saltar las filas de las páginas anteriores.
+     * 
+     * @param clientId Identificador del cliente.
+     * @param after    Identificador del último pedido ya entregado; 0 para la
+     *                 primera página.
+     * @param limit    Cantidad máxima de pedidos.
+     * @return Los pedidos, ordenados por identificador.
+     */
+    @Query("SELECT new co.edu.unbosque.electroshopv2.model.OrderSummaryDTO(o.orderId, o.client.clientId, p.name, o.totalValue) "
+            + "FROM Order o LEFT JOIN o.paymentMethod p WHERE o.client.clientId = :clientId AND o.orderId > :after ORDER BY o.orderId")
+    List<OrderSummaryDTO> findPageByClient(@Param("clientId") String clientId, @Param("after") Integer after, Limit limit);
+
 }
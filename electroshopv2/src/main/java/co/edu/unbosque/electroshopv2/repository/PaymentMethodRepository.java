@@ -0,0 +1,23 @@
+package co.edu.unbosque.electroshopv2.repository;
+
+import org.springframework.data.repository.CrudRepository;
+
+import co.edu.unbosque.electroshopv2.model.PaymentMethod;
+
+/**
+ * Repositorio para realizar operaciones CRUD
+ * sobre la entidad @linkPaymentMethod. 
+ * Extiende de @linkCrudRepository proporcionado por Spring Data JPA.
+ * 
+ * Las búsquedas por identificador se resuelven desde la caché de segundo nivel
+ * de Hibernate una vez que el método de pago se leyó por primera vez.
+ * 
+ * @author Andres Felipe Espitia Rodriguez
+ * @author Johan Sebastian Gomez Beltran
+ * @author Kevin David Peña Bustos
+ * @author David Esteban López Castillo
+ * @version 2.0
+ */
+public interface PaymentMethodRepository extends CrudRepository<PaymentMethod, Integer> {
+
+}
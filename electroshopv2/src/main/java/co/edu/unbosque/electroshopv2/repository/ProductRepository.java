@@ -1,6 +1,12 @@
 package co.edu.unbosque.electroshopv2.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
 import co.edu.unbosque.electroshopv2.model.Product;
 
@@ -18,4 +24,42 @@ import co.edu.unbosque.electroshopv2.model.Product;
 
 public interface ProductRepository extends CrudRepository<Product, Integer>{
 
+    /**
+     * Busca varios productos junto con su categoría en una sola consulta.
+     * 
+     * El inventario también se trae en la misma consulta: al ser el lado inverso
+     * de un @linkOneToOne, Hibernate lo cargaría con una consulta por producto.
+     * 
+     * @param productIds Identificadores de los productos a buscar.
+     * @return Productos encontrados, con su @linkProductCategory ya cargada.
+     */
+    @Query("SELECT p FROM Product p JOIN FETCH p.category LEFT JOIN FETCH p.stock WHERE p.productId IN :productIds")
+    List<Product> findAllWithCategoryById(@Param("productIds") Collection<Integer> productIds);
+
+    /**
+     * Busca todos los productos junto con su categoría e inventario en una sola
+     * consulta, en lugar de la consulta por producto que haría @linkfindAll.
+     * 
+     * @return Todos los productos, ordenados por identificador.
+     */
+    @Query("SELECT p FROM Product p JOIN FETCH p.category LEFT JOIN FETCH p.stock ORDER BY p.productId")
+    List<Product> findAllWithCategory();
+
+    /**
+     * Busca el precio de todos los productos sin cargar las entidades.
+     * 
+     * @return Un arreglo {identificador, precio} por producto.
+     */
+    @Query("SELECT p.productId, p.value FROM Product p")
+    List<Object[]> findAllPrices();
+
+    /**
+     * Busca el precio de un producto sin cargar la entidad.
+     * 
+     * @param productId Identificador del producto.
+     * @return El precio, o vacío si el producto no existe o no tiene precio.
+     */
+    @Query("SELECT p.value FROM Product p WHERE p.productId = :productId")
+    Optional<Long> findValueById(@Param("productId") Integer productId);
+
 }
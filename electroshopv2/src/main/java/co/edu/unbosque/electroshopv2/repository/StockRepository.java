@@ -1,12 +1,15 @@
 package co.edu.unbosque.electroshopv2.repository;
 
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
 import co.edu.unbosque.electroshopv2.model.Stock;
 
 /**
  * Repositorio para realizar operaciones CRUD
- * sobre la entidad @linkClient. 
+ * sobre la entidad @linkStock. 
  * Extiende de @linkCrudRepository proporcionado por Spring Data JPA.
  * 
  * @author Andres Felipe Espitia Rodriguez
@@ -16,6 +19,21 @@ import co.edu.unbosque.electroshopv2.model.Stock;
  * @version 2.0
  */
 
-public interface StockRepository extends CrudRepository<Stock, Integer>{
+public interface StockRepository extends CrudRepository<Stock, Integer>, StockRepositoryCustom {
+
+    /**
+     * Descuenta de forma atómica la cantidad solicitada del inventario de un producto.
+     * 
+     * La actualización es condicional: solo se aplica si el inventario actual es mayor
+     * o igual a la cantidad solicitada, por lo que dos pedidos concurrentes nunca
+     * pueden dejar el inventario en negativo.
+     * 
+     * @param productId Identificador del producto.
+     * @param quantity Cantidad a descontar.
+     * @return Número de filas actualizadas: 1 si se reservó el stock, 0 si no había suficiente.
+     */
+    @Modifying
+    @Query("UPDATE Stock s SET s.stock = s.stock - :quantity WHERE s.product.productId = :productId AND s.stock >= :quantity")
+    int reserveStock(@Param("productId") Integer productId, @Param("quantity") Integer quantity);
 
 }
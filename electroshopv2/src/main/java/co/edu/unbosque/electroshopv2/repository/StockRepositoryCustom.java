@@ -0,0 +1,99 @@
+package co.edu.unbosque.electroshopv2.repository;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+
+/**
+ * Fragmento de @linkStockRepository con operaciones sobre el inventario que
+ * se ejecutan directamente por JDBC.
+ * 
+ * @author Andres Felipe Espitia Rodriguez
+ * @author Johan Sebastian Gomez Beltran
+ * @author Kevin David Peña Bustos
+ * @author David Esteban López Castillo
+ * @version 2.0
+ */
+public interface StockRepositoryCustom {
+
+    /**
+     * Descuenta el inventario de varios productos en un único lote JDBC.
+     * 
+     * Cada fila del lote es una actualización condicional independiente, igual a
+     * @linkStockRepository#reserveStock(Integer, Integer).
+     * 
+     * @param quantities Cantidad a descontar por identificador de producto.
+     * @return Filas actualizadas por cada producto, en el orden del mapa: 1 si se
+     *         reservó el stock, 0 si no había suficiente.
+     */
+    int[] reserveStockBatch(SortedMap<Integer, Integer> quantities);
+
+    /**
+     * Suma al inventario de varios productos las cantidades indicadas en un único
+     * lote JDBC. Se usa para devolver reservas y, con cantidades negativas, para
+     * escribir los descuentos acumulados en memoria.
+     * 
+     * @param quantities Cantidad a sumar por identificador de producto.
+     * @return Filas actualizadas por cada producto, en el orden del mapa.
+     */
+    int[] releaseStockBatch(SortedMap<Integer, Integer> quantities);
+
+    /**
+     * Lee el inventario de todos los productos con una sola consulta, sumando lo
+     * que esté repartido en franjas.
+     * 
+     * @return Cantidad en inventario por identificador de producto.
+     */
+    Map<Integer, Integer> findAllQuantities();
+
+    /**
+     * Lee el inventario de un producto.
+     * 
+     * @param productId Identificador del producto.
+     * @return La cantidad en inventario, o vacío si el producto no tiene inventario.
+     */
+    Optional<Integer> findQuantity(Integer productId);
+
+    /**
+     * Descuenta la cantidad solicitada de una franja del inventario de un producto,
+     * solo si la franja tiene stock suficiente.
+     * 
+     * @param productId Identificador del producto.
+     * @param stripe Número de la franja.
+     * @param quantity Cantidad a descontar.
+     * @return 1 si se reservó el stock, 0 si la franja no existe o no tenía suficiente.
+     */
+    int reserveFromStripe(Integer productId, int stripe, int quantity);
+
+    /**
+     * Lee, sin bloquear, la cantidad de cada franja de un producto.
+     * 
+     * @param productId Identificador del producto.
+     * @param stripes Número de franjas configurado.
+     * @return La cantidad por número de franja; 0 para las franjas que no existen.
+     */
+    int[] findStripeQuantities(Integer productId, int stripes);
+
+    /**
+     * Reparte el inventario de un producto en partes iguales entre sus franjas,
+     * creando las que falten; el residuo queda en la fila de inventarios.
+     * 
+     * Debe ejecutarse dentro de una transacción. No espera bloqueos: si otra
+     * transacción tiene alguna de las filas, no hace nada.
+     * 
+     * @param productId Identificador del producto.
+     * @param stripes Número de franjas configurado.
+     * @return {@code true} si el inventario quedó repartido, {@code false} si las
+     *         filas estaban bloqueadas o el producto no tiene inventario.
+     */
+    boolean rebalanceStripes(Integer productId, int stripes);
+
+    /**
+     * Devuelve a la fila de inventarios lo repartido en franjas y elimina todas
+     * las franjas. Debe ejecutarse dentro de una transacción.
+     * 
+     * @return Número de franjas eliminadas.
+     */
+    int mergeStripes();
+
+}
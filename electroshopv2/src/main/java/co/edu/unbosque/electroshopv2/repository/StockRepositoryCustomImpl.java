@@ -0,0 +1,178 @@
+package co.edu.unbosque.electroshopv2.repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Implementación por JDBC de @linkStockRepositoryCustom.
+ * 
+ * @author Andres Felipe Espitia Rodriguez
+ * @author Johan Sebastian Gomez Beltran
+ * @author Kevin David Peña Bustos
+ * @author David Esteban López Castillo
+ * @version 2.0
+ */
+public class StockRepositoryCustomImpl implements StockRepositoryCustom {
+
+    private static final String RESERVE_STOCK_SQL = "UPDATE inventarios SET cantidad_stock = cantidad_stock - ? "
+            + "WHERE id_producto = ? AND cantidad_stock >= ?";
+
+    private static final String ALL_QUANTITIES_SQL = "SELECT i.id_producto, i.cantidad_stock + "
+            + "(SELECT COALESCE(SUM(f.cantidad_stock), 0) FROM inventarios_franjas f WHERE f.id_producto = i.id_producto) "
+            + "FROM inventarios i";
+
+    private static final String QUANTITY_SQL = "SELECT cantidad_stock FROM inventarios WHERE id_producto = ?";
+
+    private static final String RELEASE_STOCK_SQL = "UPDATE inventarios SET cantidad_stock = cantidad_stock + ? "
+            + "WHERE id_producto = ?";
+
+    private static final String RESERVE_STRIPE_SQL = "UPDATE inventarios_franjas SET cantidad_stock = cantidad_stock - ? "
+            + "WHERE id_producto = ? AND num_franja = ? AND cantidad_stock >= ?";
+
+    private static final String STRIPE_QUANTITIES_SQL = "SELECT num_franja, cantidad_stock FROM inventarios_franjas "
+            + "WHERE id_producto = ?";
+
+    private static final String LOCK_STRIPES_SQL = "SELECT num_franja, cantidad_stock FROM inventarios_franjas "
+            + "WHERE id_producto = ? ORDER BY num_franja FOR UPDATE NOWAIT";
+
+    private static final String LOCK_STOCK_SQL = "SELECT cantidad_stock FROM inventarios WHERE id_producto = ? FOR UPDATE NOWAIT";
+
+    private static final String SET_STOCK_SQL = "UPDATE inventarios SET cantidad_stock = ? WHERE id_producto = ?";
+
+    private static final String SET_STRIPE_SQL = "UPDATE inventarios_franjas SET cantidad_stock = ? "
+            + "WHERE id_producto = ? AND num_franja = ?";
+
+    private static final String INSERT_STRIPE_SQL = "INSERT INTO inventarios_franjas (id_producto, num_franja, cantidad_stock) "
+            + "VALUES (?, ?, ?)";
+
+    private static final String MERGE_STRIPES_SQL = "UPDATE inventarios SET cantidad_stock = cantidad_stock + "
+            + "(SELECT COALESCE(SUM(f.cantidad_stock), 0) FROM inventarios_franjas f WHERE f.id_producto = inventarios.id_producto) "
+            + "WHERE id_producto IN (SELECT f.id_producto FROM inventarios_franjas f)";
+
+    private static final String DELETE_STRIPES_SQL = "DELETE FROM inventarios_franjas";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Las filas se envían ordenadas por producto para que dos pedidos concurrentes
+     * bloqueen las filas de inventarios siempre en el mismo orden.
+     */
+    @Override
+    public int[] reserveStockBatch(SortedMap<Integer, Integer> quantities) {
+        List<Object[]> args = new ArrayList<>(quantities.size());
+        for (Map.Entry<Integer, Integer> entry : quantities.entrySet()) {
+            args.add(new Object[] { entry.getValue(), entry.getKey(), entry.getValue() });
+        }
+        return jdbcTemplate.batchUpdate(RESERVE_STOCK_SQL, args);
+    }
+
+    /**
+     * Igual que la reserva, las filas se envían ordenadas por producto.
+     */
+    @Override
+    public int[] releaseStockBatch(SortedMap<Integer, Integer> quantities) {
+        List<Object[]> args = new ArrayList<>(quantities.size());
+        for (Map.Entry<Integer, Integer> entry : quantities.entrySet()) {
+            args.add(new Object[] { entry.getValue(), entry.getKey() });
+        }
+        return jdbcTemplate.batchUpdate(RELEASE_STOCK_SQL, args);
+    }
+
+    @Override
+    public Map<Integer, Integer> findAllQuantities() {
+        Map<Integer, Integer> quantities = new HashMap<>();
+        jdbcTemplate.query(ALL_QUANTITIES_SQL, rs -> {
+            quantities.put(rs.getInt(1), rs.getInt(2));
+        });
+        return quantities;
+    }
+
+    @Override
+    public Optional<Integer> findQuantity(Integer productId) {
+        return jdbcTemplate.queryForList(QUANTITY_SQL, Integer.class, productId).stream().findFirst();
+    }
+
+    @Override
+    public int reserveFromStripe(Integer productId, int stripe, int quantity) {
+        return jdbcTemplate.update(RESERVE_STRIPE_SQL, quantity, productId, stripe, quantity);
+    }
+
+    @Override
+    public int[] findStripeQuantities(Integer productId, int stripes) {
+        int[] quantities = new int[stripes];
+        jdbcTemplate.query(STRIPE_QUANTITIES_SQL, rs -> {
+            int stripe = rs.getInt(1);
+            if (stripe < stripes) {
+                quantities[stripe] = rs.getInt(2);
+            }
+        }, productId);
+        return quantities;
+    }
+
+    /**
+     * Bloquea primero las franjas, en orden, y luego la fila de inventarios, sin
+     * esperar en ninguna: así el reparto nunca retiene a un pedido que a su vez
+     * lo esté esperando.
+     */
+    @Override
+    public boolean rebalanceStripes(Integer productId, int stripes) {
+        Map<Integer, Integer> current = new HashMap<>();
+        List<Integer> base;
+        try {
+            jdbcTemplate.query(LOCK_STRIPES_SQL, rs -> {
+                current.put(rs.getInt(1), rs.getInt(2));
+            }, productId);
+            base = jdbcTemplate.queryForList(LOCK_STOCK_SQL, Integer.class, productId);
+        } catch (PessimisticLockingFailureException e) {
+            return false;
+        }
+        if (base.isEmpty()) {
+            return false;
+        }
+
+        int total = base.get(0);
+        for (Integer quantity : current.values()) {
+            total += quantity;
+        }
+        int perStripe = total / stripes;
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> inserts = new ArrayList<>();
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            Integer quantity = current.remove(stripe);
+            if (quantity == null) {
+                inserts.add(new Object[] { productId, stripe, perStripe });
+            } else if (quantity != perStripe) {
+                updates.add(new Object[] { perStripe, productId, stripe });
+            }
+        }
+        for (Map.Entry<Integer, Integer> extra : current.entrySet()) {
+            if (extra.getValue() != 0) {
+                updates.add(new Object[] { 0, productId, extra.getKey() });
+            }
+        }
+        jdbcTemplate.update(SET_STOCK_SQL, total - perStripe * stripes, productId);
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(SET_STRIPE_SQL, updates);
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_STRIPE_SQL, inserts);
+        }
+        return true;
+    }
+
+    @Override
+    public int mergeStripes() {
+        jdbcTemplate.update(MERGE_STRIPES_SQL);
+        return jdbcTemplate.update(DELETE_STRIPES_SQL);
+    }
+
+}
@@ -0,0 +1,249 @@
+package co.edu.unbosque.electroshopv2.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import co.edu.unbosque.electroshopv2.model.BulkOrderResultDTO;
+import co.edu.unbosque.electroshopv2.model.OrderResponseDTO;
+import co.edu.unbosque.electroshopv2.model.RequestOrderDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Servicio que procesa cargas masivas de pedidos en formato NDJSON, un
+ * @linkRequestOrderDTO por línea.
+ * 
+ * Los pedidos se leen de a uno y se agrupan en lotes de
+ * {@code electroshop.bulk.batch-size}; cada lote se registra en una sola
+ * transacción con @linkOrderWorkflowService y su resultado se escribe en la
+ * respuesta antes de leer el siguiente. Los pedidos rechazados al leerlos
+ * cuentan para el tamaño del lote y cada línea se lee hasta
+ * {@code electroshop.bulk.max-line-length} caracteres, así que la memoria usada
+ * depende del tamaño del lote y no del tamaño del archivo. Los resultados se
+ * serializan directamente sobre la salida con un solo generador JSON, sin armar
+ * cada línea en memoria.
+ * 
+ * @author Andres Felipe Espitia Rodriguez
+ * @author Johan Sebastian Gomez Beltran
+ * @author Kevin David Peña Bustos
+ * @author David Esteban López Castillo
+ * @version 2.0
+ */
+@Service
+public class BulkOrderService {
+
+	@Autowired
+	private OrderWorkflowService orderWorkflowService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private Validator validator;
+
+	@Value("${electroshop.bulk.batch-size:100}")
+	private int batchSize;
+
+	@Value("${electroshop.bulk.max-line-length:65536}")
+	private int maxLineLength;
+
+	/**
+	 * Constructor por defecto de la clase BulkOrderService.
+	 */
+	public BulkOrderService() {
+	}
+
+	/**
+	 * Lee los pedidos de la entrada y escribe en la salida una línea
+	 * @linkBulkOrderResultDTO por cada pedido, en el mismo orden.
+	 * 
+	 * Las líneas vacías se ignoran. Una línea demasiado larga, una línea que no
+	 * es JSON válido o un pedido que no pasa la validación producen un resultado
+	 * 400 sin afectar al resto.
+	 * 
+	 * @param input  Pedidos en formato NDJSON.
+	 * @param output Salida donde se escriben los resultados en formato NDJSON.
+	 * @throws IOException Si falla la lectura de la entrada o la escritura de la
+	 *                     salida.
+	 */
+	public void processOrders(InputStream input, OutputStream output) throws IOException {
+		ObjectReader reader = objectMapper.readerFor(RequestOrderDTO.class);
+		ObjectWriter writer = objectMapper.writerFor(BulkOrderResultDTO.class)
+				.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+		JsonGenerator generator = objectMapper.getFactory().createGenerator(output)
+				.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET).setRootValueSeparator(null);
+		BufferedReader lines = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+		List<BulkOrderResultDTO> rejected = new ArrayList<>();
+		List<RequestOrderDTO> batch = new ArrayList<>(batchSize);
+		List<Long> batchLines = new ArrayList<>(batchSize);
+		StringBuilder line = new StringBuilder();
+		long lineNumber = 0;
+		while (readLine(lines, line)) {
+			lineNumber++;
+			BulkOrderResultDTO rejection = null;
+			if (line.length() > maxLineLength) {
+				rejection = new BulkOrderResultDTO(lineNumber, HttpStatus.BAD_REQUEST.value(),
+						"El pedido supera los " + maxLineLength + " caracteres");
+			} else {
+				String text = line.toString();
+				if (text.isBlank()) {
+					continue;
+				}
+				try {
+					RequestOrderDTO request = reader.readValue(text);
+					String violations = validate(request);
+					if (violations != null) {
+						rejection = new BulkOrderResultDTO(lineNumber, HttpStatus.BAD_REQUEST.value(), violations);
+					} else {
+						batch.add(request);
+						batchLines.add(lineNumber);
+					}
+				} catch (JsonProcessingException e) {
+					rejection = new BulkOrderResultDTO(lineNumber, HttpStatus.BAD_REQUEST.value(),
+							"El pedido no es un JSON válido");
+				}
+			}
+			if (rejection != null) {
+				rejected.add(rejection);
+			}
+			if (batch.size() + rejected.size() >= batchSize) {
+				flush(batch, batchLines, rejected, writer, generator);
+			}
+		}
+		flush(batch, batchLines, rejected, writer, generator);
+		generator.close();
+	}
+
+	/**
+	 * Procesa el lote pendiente y escribe sus resultados junto con los pedidos
+	 * rechazados antes de llegar al lote, ordenados por línea.
+	 * 
+	 * @param batch      Pedidos válidos del lote.
+	 * @param batchLines Número de línea de cada pedido del lote.
+	 * @param rejected   Resultados de los pedidos rechazados al leerlos.
+	 * @param writer     Serializador de los resultados.
+	 * @param generator  Generador JSON sobre la salida de la respuesta.
+	 * @throws IOException Si falla la escritura de la salida.
+	 */
+	private void flush(List<RequestOrderDTO> batch, List<Long> batchLines, List<BulkOrderResultDTO> rejected,
+			ObjectWriter writer, JsonGenerator generator) throws IOException {
+		List<CompletableFuture<OrderResponseDTO>> processed = batch.isEmpty() ? List.of()
+				: orderWorkflowService.processOrders(batch);
+		int next = 0;
+		for (int i = 0; i < processed.size(); i++) {
+			long lineNumber = batchLines.get(i);
+			while (next < rejected.size() && rejected.get(next).getLine() < lineNumber) {
+				write(rejected.get(next++), writer, generator);
+			}
+			write(toResult(lineNumber, processed.get(i)), writer, generator);
+		}
+		while (next < rejected.size()) {
+			write(rejected.get(next++), writer, generator);
+		}
+		generator.flush();
+		batch.clear();
+		batchLines.clear();
+		rejected.clear();
+	}
+
+	/**
+	 * Lee la siguiente línea de la entrada guardando como máximo
+	 * {@code electroshop.bulk.max-line-length} + 1 caracteres; el resto de una
+	 * línea más larga se descarta sin guardarlo.
+	 * 
+	 * @param lines Entrada.
+	 * @param line  Donde se deja la línea, sin el salto de línea; se vacía antes
+	 *              de leer.
+	 * @return {@code false} si la entrada ya terminó.
+	 * @throws IOException Si falla la lectura de la entrada.
+	 */
+	private boolean readLine(BufferedReader lines, StringBuilder line) throws IOException {
+		line.setLength(0);
+		int c = lines.read();
+		if (c == -1) {
+			return false;
+		}
+		boolean truncated = false;
+		while (c != -1 && c != '\n') {
+			if (line.length() <= maxLineLength) {
+				line.append((char) c);
+			} else {
+				truncated = true;
+			}
+			c = lines.read();
+		}
+		if (!truncated && !line.isEmpty() && line.charAt(line.length() - 1) == '\r') {
+			line.setLength(line.length() - 1);
+		}
+		return true;
+	}
+
+	/**
+	 * @param request Pedido leído.
+	 * @return Los mensajes de validación unidos, o {@code null} si el pedido es
+	 *         válido.
+	 */
+	private String validate(RequestOrderDTO request) {
+		Set<ConstraintViolation<RequestOrderDTO>> violations = validator.validate(request);
+		if (violations.isEmpty()) {
+			return null;
+		}
+		StringJoiner messages = new StringJoiner(", ");
+		for (ConstraintViolation<RequestOrderDTO> violation : violations) {
+			messages.add(violation.getMessage());
+		}
+		return messages.toString();
+	}
+
+	/**
+	 * Convierte el resultado de un pedido en el código HTTP que habría devuelto
+	 * {@code /api/pedidos/procesar}.
+	 * 
+	 * @param lineNumber Número de línea del pedido.
+	 * @param processed  Futuro ya completado con el resultado del pedido.
+	 * @return El resultado del pedido.
+	 */
+	private BulkOrderResultDTO toResult(long lineNumber, CompletableFuture<OrderResponseDTO> processed) {
+		try {
+			BulkOrderResultDTO result = new BulkOrderResultDTO(lineNumber, HttpStatus.OK.value(), null);
+			result.setOrder(processed.join());
+			return result;
+		} catch (CompletionException e) {
+			Throwable error = e.getCause();
+			return new BulkOrderResultDTO(lineNumber, OrderWorkflowService.statusOf(error).value(), error.getMessage());
+		}
+	}
+
+	/**
+	 * @param result    Resultado a escribir como una línea JSON.
+	 * @param writer    Serializador de los resultados.
+	 * @param generator Generador JSON sobre la salida de la respuesta.
+	 * @throws IOException Si falla la escritura de la salida.
+	 */
+	private void write(BulkOrderResultDTO result, ObjectWriter writer, JsonGenerator generator) throws IOException {
+		writer.writeValue(generator, result);
+		generator.writeRaw('\n');
+	}
+}
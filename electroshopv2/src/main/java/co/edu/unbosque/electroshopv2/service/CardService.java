@@ -1,9 +1,10 @@
 package co.edu.unbosque.electroshopv2.service;
 
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import co.edu.unbosque.electroshopv2.exception.CardNotValidException;
@@ -22,65 +23,66 @@ import jakarta.validation.Valid;
 @Service
 public class CardService {
 
+	@Autowired
+	private PaymentAuthorizer paymentAuthorizer;
+
+	@Autowired
+	private OrderMetrics orderMetrics;
+
+	private final CardValidator cardValidator = new CardValidator(Clock.systemDefaultZone());
+
 	/**
-	 * Valida la información de una tarjeta de crédito.
-	 * 
-	 * Este método verifica que el número de la tarjeta tenga 16 dígitos, que la
-	 * fecha de expiración y el CVC sean válidos, y devuelve una cadena de texto
-	 * indicando el estado de la transacción.
+	 * Valida la información de una tarjeta de crédito y solicita la autorización
+	 * del pago.
 	 * 
 	 * @param card Objeto @linkCardDTO que contiene la información de la tarjeta a
 	 *             validar.
-	 * @return Un mensaje indicando el resultado de la validación.
-	 * @throws CardNotValidException Si la tarjeta no es válida.
-	 * 
+	 * @return Futuro con el momento en que la pasarela aprobó la compra.
+	 * @throws CardNotValidException Si la tarjeta no es válida. Si la pasarela
+	 *                               rechaza la compra, el futuro se completa con
+	 *                               esta misma excepción.
+	 * @see #checkCard(CardDTO)
+	 * @see #authorizePayment(CardDTO)
 	 */
-	public String validateCard(@Valid CardDTO card) {
-		/**
-		 * Validar el número de la tarjeta.
-		 */
-		if (!card.getNumber().replace("-", "").replace(".", "").replace(" ", "").replace("/", "").replace("\\", "")
-				.matches("\\d+")) {
-			throw new CardNotValidException("Hay caracteres en la tarjeta");
-		}
-
-		if (card.getNumber().replace("-", "").replace(".", "").replace(" ", "").replace("/", "").replace("\\", "")
-				.length() != 16) {
-			throw new CardNotValidException("Número de tarjeta no válido");
-		}
-
-		/**
-		 * Validar la fecha de expiración de la tarjeta.
-		 */
-		if (!card.getExpiration().replace("-", "").replace(".", "").replace(" ", "").replace("/", "").replace("\\", "")
-				.matches("\\d+")) {
-			throw new CardNotValidException("Hay caracteres en la expiración");
-		}
-
-		/**
-		 * Validar el CVC de la tarjeta.
-		 */
-		if (!card.getCvc().matches("[0-9]+")) {
-			throw new CardNotValidException("Hay caracteres en el CVC");
-		}
-
-		StringBuilder response = new StringBuilder();
-
-		DateFormat dateFormat = new SimpleDateFormat("HH:mm:ss");
-		Date date = new Date();
-		response.append("Creando compra a las: " + dateFormat.format(date) + "\n");
+	public CompletableFuture<Instant> validateCard(@Valid CardDTO card) {
+		checkCard(card);
+		return authorizePayment(card);
+	}
 
+	/**
+	 * Verifica con @linkCardValidator que el número de la tarjeta tenga 16 dígitos
+	 * y un dígito de control de Luhn correcto, que la fecha de expiración no haya
+	 * pasado y que el CVC sea válido. No consulta la pasarela de pagos.
+	 * 
+	 * @param card Tarjeta a validar.
+	 * @throws CardNotValidException Si la tarjeta no es válida.
+	 */
+	public void checkCard(@Valid CardDTO card) {
 		try {
-			Thread.sleep(30);
-		} catch (InterruptedException e) {
-			date = new Date();
-			response.append("Compra rechazada: " + dateFormat.format(date) + "\n");
-			e.printStackTrace();
+			cardValidator.validate(card);
+		} catch (CardNotValidException e) {
+			orderMetrics.cardRejected();
+			throw e;
 		}
+	}
 
-		date = new Date();
-		response.append("Compra aprobada: " + dateFormat.format(date) + "\n");
-
-		return response.toString();
+	/**
+	 * Solicita la autorización del pago a la @linkPaymentAuthorizer sin esperar su
+	 * respuesta.
+	 * 
+	 * @param card Tarjeta ya validada con {@link #checkCard(CardDTO)}.
+	 * @return Futuro con el momento de la aprobación; se completa con
+	 *         @linkCardNotValidException si la pasarela rechaza la compra.
+	 */
+	public CompletableFuture<Instant> authorizePayment(CardDTO card) {
+		return orderMetrics.timeAsync(OrderMetrics.VALIDATE_CARD, () -> {
+			CompletableFuture<Instant> authorization = paymentAuthorizer.authorize(card);
+			authorization.whenComplete((payment, error) -> {
+				if (error != null) {
+					orderMetrics.cardRejected();
+				}
+			});
+			return authorization;
+		});
 	}
 }
@@ -0,0 +1,170 @@
+package co.edu.unbosque.electroshopv2.service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+import co.edu.unbosque.electroshopv2.exception.CardNotValidException;
+import co.edu.unbosque.electroshopv2.model.CardDTO;
+
+/**
+ * Validador del formato de una tarjeta de crédito.
+ * 
+ * Recorre cada campo una sola vez, carácter por carácter, ignorando los
+ * separadores ({@code - . espacio / \}) sin construir cadenas intermedias ni
+ * expresiones regulares. Además del formato verifica el dígito de control de
+ * Luhn del número y que la fecha de expiración no haya pasado.
+ * 
+ * @author Andres Felipe Espitia Rodriguez
+ * @author Johan Sebastian Gomez Beltran
+ * @author Kevin David Peña Bustos
+ * @author David Esteban López Castillo
+ * @version 2.0
+ */
+public class CardValidator {
+
+	/** Cantidad de dígitos que debe tener el número de la tarjeta. */
+	private static final int CARD_DIGITS = 16;
+
+	private final Clock clock;
+
+	/** Mes actual codificado como año * 12 + (mes - 1). */
+	private volatile int currentMonth;
+
+	/** Instante, en milisegundos, a partir del cual se debe recalcular el mes actual. */
+	private volatile long currentMonthUntil;
+
+	/**
+	 * Crea un validador que toma la fecha actual del reloj indicado.
+	 * 
+	 * @param clock Reloj usado para decidir si una tarjeta está vencida.
+	 */
+	public CardValidator(Clock clock) {
+		this.clock = clock;
+	}
+
+	/**
+	 * Valida el número, la expiración y el CVC de la tarjeta.
+	 * 
+	 * @param card Tarjeta a validar.
+	 * @throws CardNotValidException Si algún campo de la tarjeta no es válido.
+	 */
+	public void validate(CardDTO card) {
+		validateNumber(card.getNumber());
+		validateExpiration(card.getExpiration());
+		validateCvc(card.getCvc());
+	}
+
+	/**
+	 * Verifica que el número tenga 16 dígitos y cumpla el algoritmo de Luhn.
+	 * 
+	 * El recorrido va de derecha a izquierda para calcular la suma de Luhn en la
+	 * misma pasada que cuenta los dígitos.
+	 * 
+	 * @param number Número de la tarjeta.
+	 */
+	private void validateNumber(String number) {
+		if (number == null) {
+			throw new CardNotValidException("Número de tarjeta no válido");
+		}
+		int digits = 0;
+		int luhnSum = 0;
+		for (int i = number.length() - 1; i >= 0; i--) {
+			char c = number.charAt(i);
+			if (c >= '0' && c <= '9') {
+				int digit = c - '0';
+				if ((digits & 1) == 1) {
+					digit *= 2;
+					if (digit > 9) {
+						digit -= 9;
+					}
+				}
+				luhnSum += digit;
+				digits++;
+			} else if (!isSeparator(c)) {
+				throw new CardNotValidException("Hay caracteres en la tarjeta");
+			}
+		}
+		if (digits != CARD_DIGITS) {
+			throw new CardNotValidException("Número de tarjeta no válido");
+		}
+		if (luhnSum % 10 != 0) {
+			throw new CardNotValidException("El número de la tarjeta no es válido");
+		}
+	}
+
+	/**
+	 * Verifica que la expiración tenga el formato MMYY o MM/YY y que el mes de
+	 * expiración no haya terminado.
+	 * 
+	 * @param expiration Fecha de expiración de la tarjeta.
+	 */
+	private void validateExpiration(String expiration) {
+		if (expiration == null) {
+			throw new CardNotValidException("La expiración es incorrecta");
+		}
+		int digits = 0;
+		int value = 0;
+		for (int i = 0; i < expiration.length(); i++) {
+			char c = expiration.charAt(i);
+			if (c >= '0' && c <= '9') {
+				value = value * 10 + (c - '0');
+				digits++;
+			} else if (!isSeparator(c)) {
+				throw new CardNotValidException("Hay caracteres en la expiración");
+			}
+		}
+		int month = value / 100;
+		if (digits != 4 || month < 1 || month > 12) {
+			throw new CardNotValidException("La expiración es incorrecta");
+		}
+		int expirationMonth = (2000 + value % 100) * 12 + (month - 1);
+		if (expirationMonth < currentMonth()) {
+			throw new CardNotValidException("La tarjeta está vencida");
+		}
+	}
+
+	/**
+	 * Verifica que el CVC esté compuesto únicamente por dígitos.
+	 * 
+	 * @param cvc Código de seguridad de la tarjeta.
+	 */
+	private void validateCvc(String cvc) {
+		if (cvc == null || cvc.isEmpty()) {
+			throw new CardNotValidException("Hay caracteres en el CVC");
+		}
+		for (int i = 0; i < cvc.length(); i++) {
+			char c = cvc.charAt(i);
+			if (c < '0' || c > '9') {
+				throw new CardNotValidException("Hay caracteres en el CVC");
+			}
+		}
+	}
+
+	/**
+	 * Obtiene el mes actual. Solo consulta el calendario cuando cambia el mes, de
+	 * modo que en el caso normal no crea objetos de fecha.
+	 * 
+	 * @return El mes actual codificado como año * 12 + (mes - 1).
+	 */
+	private int currentMonth() {
+		long now = clock.millis();
+		if (now >= currentMonthUntil) {
+			ZoneId zone = clock.getZone();
+			LocalDate today = LocalDate.now(clock);
+			currentMonth = today.getYear() * 12 + (today.getMonthValue() - 1);
+			currentMonthUntil = today.withDayOfMonth(1).plusMonths(1).atStartOfDay(zone).toInstant().toEpochMilli();
+		}
+		return currentMonth;
+	}
+
+	/**
+	 * Indica si el carácter es uno de los separadores permitidos en los campos.
+	 * 
+	 * @param c Carácter a evaluar.
+	 * @return {@code true} si es un separador.
+	 */
+	private static boolean isSeparator(char c) {
+		return c == '-' || c == '.' || c == ' ' || c == '/' || c == '\\';
+	}
+}
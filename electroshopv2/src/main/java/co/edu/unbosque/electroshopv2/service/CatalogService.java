@@ -0,0 +1,169 @@
+package co.edu.unbosque.electroshopv2.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import co.edu.unbosque.electroshopv2.exception.NotFoundException;
+import co.edu.unbosque.electroshopv2.model.CatalogProductDTO;
+import co.edu.unbosque.electroshopv2.model.Product;
+import co.edu.unbosque.electroshopv2.model.ProductChangedEvent;
+import co.edu.unbosque.electroshopv2.model.Stock;
+import co.edu.unbosque.electroshopv2.repository.ProductRepository;
+import co.edu.unbosque.electroshopv2.repository.StockRepository;
+
+/**
+ * Servicio de lectura del catálogo que responde desde una copia en memoria.
+ *
+ * La copia, un @linkCatalogSnapshot inmutable con su índice de búsqueda, se
+ * carga al arrancar y se reemplaza completa con un solo cambio de referencia,
+ * por lo que las consultas no toman bloqueos ni tocan la base de datos. Cuando
+ * se confirma una transacción que modificó un producto, solo ese producto se
+ * vuelve a cargar; si cambió una categoría, se recarga todo el catálogo. Las
+ * recargas completas y las de un producto se hacen una a la vez, leyendo la
+ * base de datos dentro del bloqueo, así que un producto que cambia durante una
+ * recarga completa se vuelve a leer después de ella en lugar de quedar
+ * sobrescrito con la lectura anterior.
+ *
+ * Las reservas descuentan el stock con SQL directo, sin pasar por las
+ * entidades, así que el stock se refresca con una consulta cada
+ * {@code electroshop.catalog.refresh-interval-ms}. El stock publicado puede ir
+ * hasta ese intervalo por detrás de la base de datos; la reserva sigue
+ * validándose contra inventarios al registrar el pedido.
+ *
+ * @author Andres Felipe Espitia Rodriguez
+ * @author Johan Sebastian Gomez Beltran
+ * @author Kevin David Peña Bustos
+ * @author David Esteban López Castillo
+ * @version 2.0
+ */
+@Service
+public class CatalogService {
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private StockRepository stockRepository;
+
+	private final AtomicReference<CatalogSnapshot> snapshot = new AtomicReference<>(CatalogSnapshot.EMPTY);
+
+	/**
+	 * Constructor por defecto de la clase CatalogService.
+	 */
+	public CatalogService() {
+	}
+
+	/**
+	 * Carga el catálogo completo desde la base de datos y reemplaza la copia
+	 * actual.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public synchronized void load() {
+		snapshot.set(CatalogSnapshot.of(toCatalog(productRepository.findAllWithCategory())));
+	}
+
+	/**
+	 * @return Todos los productos del catálogo, ordenados por identificador.
+	 */
+	public Collection<CatalogProductDTO> findAll() {
+		return snapshot.get().products();
+	}
+
+	/**
+	 * @param productId Identificador del producto.
+	 * @return El producto del catálogo.
+	 * @throws NotFoundException Si el producto no existe.
+	 */
+	public CatalogProductDTO findProduct(Integer productId) {
+		CatalogProductDTO product = snapshot.get().product(productId);
+		if (product == null) {
+			throw new NotFoundException("No existe el producto " + productId);
+		}
+		return product;
+	}
+
+	/**
+	 * @param categoryId Identificador de la categoría.
+	 * @return Los productos de la categoría, ordenados por identificador; vacío si
+	 *         la categoría no tiene productos o no existe.
+	 */
+	public List<CatalogProductDTO> findByCategory(Integer categoryId) {
+		return snapshot.get().category(categoryId);
+	}
+
+	/**
+	 * Busca productos por las palabras de su nombre o de su categoría, sin
+	 * distinguir mayúsculas ni tildes. Cada palabra buscada puede ser el comienzo
+	 * de una palabra del producto.
+	 *
+	 * @param query Texto buscado, por ejemplo "parlante bose".
+	 * @param limit Cantidad máxima de resultados.
+	 * @return Los productos que contienen todas las palabras buscadas, ordenados
+	 *         por identificador.
+	 */
+	public List<CatalogProductDTO> search(String query, int limit) {
+		return snapshot.get().search(query, limit);
+	}
+
+	/**
+	 * Actualiza la copia cuando se confirma el cambio de un producto o de una
+	 * categoría.
+	 *
+	 * @param event Evento con el producto modificado.
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public synchronized void onProductChanged(ProductChangedEvent event) {
+		if (event.affectsAllProducts()) {
+			load();
+			return;
+		}
+		Integer productId = event.getProductId();
+		List<CatalogProductDTO> changed = toCatalog(productRepository.findAllWithCategoryById(List.of(productId)));
+		List<Integer> removed = changed.isEmpty() ? List.of(productId) : List.of();
+		snapshot.updateAndGet(current -> current.with(changed, removed));
+	}
+
+	/**
+	 * Lee el stock de todos los productos y reemplaza en la copia los que
+	 * cambiaron. No espera a las recargas: si una recarga publica un stock más
+	 * viejo, la siguiente lectura lo corrige.
+	 */
+	@Scheduled(fixedDelayString = "${electroshop.catalog.refresh-interval-ms:1000}")
+	public void refreshStock() {
+		Map<Integer, Integer> quantities = stockRepository.findAllQuantities();
+		snapshot.updateAndGet(current -> current.withStock(quantities));
+	}
+
+	/**
+	 * @param products Productos con su categoría e inventario cargados.
+	 * @return Los productos como entradas del catálogo.
+	 */
+	private static List<CatalogProductDTO> toCatalog(List<Product> products) {
+		List<CatalogProductDTO> catalog = new ArrayList<>(products.size());
+		for (Product product : products) {
+			catalog.add(new CatalogProductDTO(product.getProductId(), product.getName(), product.getValue(),
+					product.getCategory().getCategoryId(), product.getCategory().getName(),
+					stockOf(product)));
+		}
+		return catalog;
+	}
+
+	/**
+	 * @param product Producto con su inventario cargado.
+	 * @return Las unidades disponibles, 0 si el producto no tiene inventario.
+	 */
+	private static int stockOf(Product product) {
+		Stock stock = product.getStock();
+		return stock == null || stock.getStock() == null ? 0 : stock.getStock();
+	}
+}
@@ -0,0 +1,187 @@
+package co.edu.unbosque.electroshopv2.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+import co.edu.unbosque.electroshopv2.model.CatalogProductDTO;
+
+/**
+ * Copia inmutable del catálogo, indexada por producto, por categoría y por las
+ * palabras de los nombres en un @linkProductSearchIndex.
+ *
+ * Nunca se modifica: cada cambio produce una copia nueva que reutiliza los
+ * productos sin cambios y solo reconstruye las categorías afectadas, de modo
+ * que los lectores de la copia anterior no ven estados intermedios.
+ *
+ * @author Andres Felipe Espitia Rodriguez
+ * @author Johan Sebastian Gomez Beltran
+ * @author Kevin David Peña Bustos
+ * @author David Esteban López Castillo
+ * @version 2.0
+ */
+final class CatalogSnapshot {
+
+	/** Catálogo sin productos, usado antes de la primera carga. */
+	static final CatalogSnapshot EMPTY = new CatalogSnapshot(new TreeMap<>(), Map.of(), ProductSearchIndex.EMPTY);
+
+	private static final Comparator<CatalogProductDTO> BY_ID = Comparator.comparing(CatalogProductDTO::getProductId);
+
+	private final NavigableMap<Integer, CatalogProductDTO> byId;
+
+	private final Map<Integer, List<CatalogProductDTO>> byCategory;
+
+	private final ProductSearchIndex searchIndex;
+
+	/**
+	 * @param byId        Productos por identificador; la copia se queda con el
+	 *                    mapa.
+	 * @param byCategory  Productos de cada categoría, ordenados por identificador.
+	 * @param searchIndex Índice de búsqueda de los mismos productos.
+	 */
+	private CatalogSnapshot(TreeMap<Integer, CatalogProductDTO> byId, Map<Integer, List<CatalogProductDTO>> byCategory,
+			ProductSearchIndex searchIndex) {
+		this.byId = Collections.unmodifiableNavigableMap(byId);
+		this.byCategory = byCategory;
+		this.searchIndex = searchIndex;
+	}
+
+	/**
+	 * @param products Todos los productos del catálogo.
+	 * @return Una copia con esos productos.
+	 */
+	static CatalogSnapshot of(Collection<CatalogProductDTO> products) {
+		return EMPTY.with(products, List.of());
+	}
+
+	/**
+	 * @param changed Productos nuevos o modificados.
+	 * @param removed Identificadores de los productos eliminados.
+	 * @return Una copia con los cambios aplicados, o esta misma si no hay
+	 *         cambios.
+	 */
+	CatalogSnapshot with(Collection<CatalogProductDTO> changed, Collection<Integer> removed) {
+		if (changed.isEmpty() && removed.isEmpty()) {
+			return this;
+		}
+		TreeMap<Integer, CatalogProductDTO> ids = new TreeMap<>(byId);
+		Set<Integer> touched = new HashSet<>(removed);
+		Set<Integer> categories = new HashSet<>();
+		List<CatalogProductDTO> unindexed = new ArrayList<>();
+		List<CatalogProductDTO> indexed = new ArrayList<>();
+		for (Integer productId : removed) {
+			CatalogProductDTO previous = ids.remove(productId);
+			if (previous != null) {
+				categories.add(previous.getCategoryId());
+				unindexed.add(previous);
+			}
+		}
+		for (CatalogProductDTO product : changed) {
+			CatalogProductDTO previous = ids.put(product.getProductId(), product);
+			if (previous != null) {
+				categories.add(previous.getCategoryId());
+			}
+			categories.add(product.getCategoryId());
+			touched.add(product.getProductId());
+			if (previous == null || !sameText(previous, product)) {
+				if (previous != null) {
+					unindexed.add(previous);
+				}
+				indexed.add(product);
+			}
+		}
+
+		Map<Integer, List<CatalogProductDTO>> arriving = new HashMap<>();
+		for (CatalogProductDTO product : changed) {
+			arriving.computeIfAbsent(product.getCategoryId(), id -> new ArrayList<>()).add(product);
+		}
+		Map<Integer, List<CatalogProductDTO>> grouped = new HashMap<>(byCategory);
+		for (Integer categoryId : categories) {
+			List<CatalogProductDTO> members = new ArrayList<>();
+			for (CatalogProductDTO product : byCategory.getOrDefault(categoryId, List.of())) {
+				if (!touched.contains(product.getProductId())) {
+					members.add(product);
+				}
+			}
+			members.addAll(arriving.getOrDefault(categoryId, List.of()));
+			if (members.isEmpty()) {
+				grouped.remove(categoryId);
+			} else {
+				members.sort(BY_ID);
+				grouped.put(categoryId, List.copyOf(members));
+			}
+		}
+		return new CatalogSnapshot(ids, Map.copyOf(grouped), searchIndex.with(unindexed, indexed));
+	}
+
+	/**
+	 * @param quantities Stock actual por identificador de producto.
+	 * @return Una copia con el stock actualizado de los productos que cambiaron.
+	 */
+	CatalogSnapshot withStock(Map<Integer, Integer> quantities) {
+		List<CatalogProductDTO> changed = new ArrayList<>();
+		for (CatalogProductDTO product : byId.values()) {
+			int stock = quantities.getOrDefault(product.getProductId(), 0);
+			if (stock != product.getStock()) {
+				changed.add(product.withStock(stock));
+			}
+		}
+		return with(changed, List.of());
+	}
+
+	/**
+	 * @return Todos los productos, ordenados por identificador.
+	 */
+	Collection<CatalogProductDTO> products() {
+		return byId.values();
+	}
+
+	/**
+	 * @param productId Identificador del producto.
+	 * @return El producto, o {@code null} si no existe.
+	 */
+	CatalogProductDTO product(Integer productId) {
+		return byId.get(productId);
+	}
+
+	/**
+	 * @param categoryId Identificador de la categoría.
+	 * @return Los productos de la categoría, ordenados por identificador.
+	 */
+	List<CatalogProductDTO> category(Integer categoryId) {
+		return byCategory.getOrDefault(categoryId, List.of());
+	}
+
+	/**
+	 * @param query Texto buscado.
+	 * @param limit Cantidad máxima de resultados.
+	 * @return Los productos encontrados, ordenados por identificador.
+	 */
+	List<CatalogProductDTO> search(String query, int limit) {
+		List<CatalogProductDTO> products = new ArrayList<>();
+		for (Integer productId : searchIndex.search(query, limit)) {
+			products.add(byId.get(productId));
+		}
+		return products;
+	}
+
+	/**
+	 * @param previous Versión anterior de un producto.
+	 * @param current  Versión nueva del mismo producto.
+	 * @return {@code true} si el nombre y la categoría no cambiaron, como en los
+	 *         cambios de stock o de precio.
+	 */
+	private static boolean sameText(CatalogProductDTO previous, CatalogProductDTO current) {
+		return Objects.equals(previous.getName(), current.getName())
+				&& Objects.equals(previous.getCategoryName(), current.getCategoryName());
+	}
+}
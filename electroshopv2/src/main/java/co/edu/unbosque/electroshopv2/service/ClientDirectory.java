@@ -0,0 +1,189 @@
+package co.edu.unbosque.electroshopv2.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import co.edu.unbosque.electroshopv2.exception.NotFoundException;
+import co.edu.unbosque.electroshopv2.repository.ClientRepository;
+
+/**
+ * Directorio en memoria de los clientes registrados, usado para validar el
+ * cliente de un pedido sin cargar la entidad @linkClient.
+ *
+ * Los identificadores se guardan en un filtro de Bloom de unos 10 bits por
+ * cliente: si el filtro dice que un cliente no existe, el pedido se rechaza sin
+ * consultar la base de datos. Como el filtro admite falsos positivos, la
+ * primera vez que aparece un cliente se confirma con {@code existsById} y se
+ * recuerda en una caché LRU de {@code electroshop.clients.cache-size}
+ * identificadores, de modo que los clientes frecuentes tampoco cuestan una
+ * consulta.
+ *
+ * El filtro se reconstruye al arrancar y cada
+ * {@code electroshop.clients.refresh-interval-ms}, y la caché se vacía en cada
+ * reconstrucción. Un cliente insertado directamente en clientes se rechaza hasta
+ * la siguiente reconstrucción.
+ *
+ * @author Andres Felipe Espitia Rodriguez
+ * @author Johan Sebastian Gomez Beltran
+ * @author Kevin David Peña Bustos
+ * @author David Esteban López Castillo
+ * @version 2.0
+ */
+@Service
+public class ClientDirectory {
+
+	@Autowired
+	private ClientRepository clientRepository;
+
+	@Value("${electroshop.clients.cache-size:10000}")
+	private int cacheSize;
+
+	private volatile Filter filter = Filter.of(List.of());
+
+	private volatile Map<String, Boolean> confirmed = newCache();
+
+	/**
+	 * Constructor por defecto de la clase ClientDirectory.
+	 */
+	public ClientDirectory() {
+	}
+
+	/**
+	 * Reconstruye el filtro con los identificadores de todos los clientes y vacía
+	 * la caché de clientes confirmados.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(fixedDelayString = "${electroshop.clients.refresh-interval-ms:60000}", initialDelayString = "${electroshop.clients.refresh-interval-ms:60000}")
+	public synchronized void load() {
+		Filter loaded = Filter.of(clientRepository.findAllIds());
+		confirmed = newCache();
+		filter = loaded;
+	}
+
+	/**
+	 * Comprueba que un cliente exista.
+	 *
+	 * @param clientId Identificador del cliente.
+	 * @throws NotFoundException Si el cliente no existe.
+	 */
+	public void checkClient(String clientId) {
+		if (clientId == null || !filter.mightContain(clientId)) {
+			throw new NotFoundException("No existe el cliente " + clientId);
+		}
+		Map<String, Boolean> current = confirmed;
+		if (current.containsKey(clientId)) {
+			return;
+		}
+		if (!clientRepository.existsById(clientId)) {
+			throw new NotFoundException("No existe el cliente " + clientId);
+		}
+		current.put(clientId, Boolean.TRUE);
+	}
+
+	/**
+	 * @return Una caché vacía que descarta el cliente usado hace más tiempo cuando
+	 *         supera {@code electroshop.clients.cache-size} entradas.
+	 */
+	private Map<String, Boolean> newCache() {
+		return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+				return size() > cacheSize;
+			}
+		});
+	}
+
+	/**
+	 * Filtro de Bloom inmutable sobre identificadores de clientes.
+	 */
+	private static final class Filter {
+
+		private static final int BITS_PER_CLIENT = 10;
+
+		private static final int HASHES = 7;
+
+		private static final int MIN_CLIENTS = 1024;
+
+		private final long[] words;
+
+		private final long bits;
+
+		/**
+		 * @param words Bits del filtro; el filtro se queda con el arreglo.
+		 */
+		private Filter(long[] words) {
+			this.words = words;
+			this.bits = (long) words.length * Long.SIZE;
+		}
+
+		/**
+		 * @param clientIds Identificadores a agregar.
+		 * @return Un filtro dimensionado para esos identificadores.
+		 */
+		private static Filter of(List<String> clientIds) {
+			long bits = (long) Math.max(clientIds.size(), MIN_CLIENTS) * BITS_PER_CLIENT;
+			Filter filter = new Filter(new long[(int) ((bits + Long.SIZE - 1) / Long.SIZE)]);
+			for (String clientId : clientIds) {
+				long hash = hash(clientId);
+				for (int i = 0; i < HASHES; i++) {
+					long bit = filter.bit(hash, i);
+					filter.words[(int) (bit >>> 6)] |= 1L << bit;
+				}
+			}
+			return filter;
+		}
+
+		/**
+		 * @param clientId Identificador del cliente.
+		 * @return {@code false} si el cliente seguro no está en el filtro.
+		 */
+		private boolean mightContain(String clientId) {
+			long hash = hash(clientId);
+			for (int i = 0; i < HASHES; i++) {
+				long bit = bit(hash, i);
+				if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * Deriva la posición de la función {@code i} combinando las dos mitades del
+		 * hash.
+		 *
+		 * @param hash Hash del identificador.
+		 * @param i    Número de la función.
+		 * @return La posición del bit en el filtro.
+		 */
+		private long bit(long hash, int i) {
+			int combined = (int) hash + i * (int) (hash >>> 32);
+			return Integer.toUnsignedLong(combined) % bits;
+		}
+
+		/**
+		 * @param clientId Identificador del cliente.
+		 * @return Hash FNV-1a de 64 bits de sus bytes UTF-8.
+		 */
+		private static long hash(String clientId) {
+			long hash = 0xcbf29ce484222325L;
+			for (byte b : clientId.getBytes(StandardCharsets.UTF_8)) {
+				hash ^= b & 0xff;
+				hash *= 0x100000001b3L;
+			}
+			return hash;
+		}
+	}
+}
@@ -8,6 +8,7 @@ import co.edu.unbosque.electroshopv2.model.OrderDetail;
 import co.edu.unbosque.electroshopv2.model.OrderDetailDTO;
 import co.edu.unbosque.electroshopv2.model.PaymentMethod;
 import co.edu.unbosque.electroshopv2.model.Product;
+import co.edu.unbosque.electroshopv2.model.ProductDTO;
 
 /**
  * Clase de utilidad para mapear datos entre objetos DTO y entidades del modelo.
@@ -25,6 +26,9 @@ public class DataMapper {
     /**
      * Convierte un objeto @linkOrderDTO en una entidad @linkOrder.
      * 
+     * El identificador del DTO no se copia: el pedido siempre es nuevo y su
+     * identificador lo asigna la base de datos al guardarlo.
+     * 
      * @param orderDTO Objeto DTO que contiene la información del pedido.
      * @param client Cliente asociado al pedido.
      * @param paymentMethod Método de pago utilizado para el pedido.
@@ -32,7 +36,6 @@ public class DataMapper {
      */
     public static Order transformOrderDTOToOrder(OrderDTO orderDTO, Client client, PaymentMethod paymentMethod) {
         Order order = new Order();
-        order.setOrderId(orderDTO.getOrderId());
         order.setClient(client);
         order.setPaymentMethod(paymentMethod);
         order.setTotalValue(orderDTO.getTotalValue());
@@ -56,4 +59,16 @@ public class DataMapper {
         return orderDetail;
     }
 
+    /**
+     * Convierte una entidad @linkProduct en un objeto @linkProductDTO.
+     * 
+     * El inventario no se copia porque cambia con cada pedido.
+     * 
+     * @param product Producto con su categoría cargada.
+     * @return DTO con el identificador, nombre, precio y categoría del producto.
+     */
+    public static ProductDTO transformProductToProductDTO(Product product) {
+        return new ProductDTO(product.getProductId(), product.getName(), product.getValue(), product.getCategory());
+    }
+
 }
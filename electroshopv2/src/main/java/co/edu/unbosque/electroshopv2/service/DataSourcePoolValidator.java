@@ -0,0 +1,115 @@
+package co.edu.unbosque.electroshopv2.service;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionProperties;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.stereotype.Service;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Revisa al arrancar que el pool de conexiones esté dimensionado y configurado
+ * como lo espera el perfil de producción
+ * ({@code electroshop.datasource.validate=true}).
+ *
+ * Con hilos de plataforma, las únicas que piden conexiones son los hilos de
+ * Tomcat, los del ejecutor de tareas y los del planificador; un pool más grande
+ * que la suma de ellos solo ocupa conexiones de MySQL que nunca se usan. Contra
+ * MySQL además exige la caché de sentencias preparadas y la reescritura de lotes
+ * de {@code mysql-connector-j}, de las que dependen las reservas de stock por
+ * lotes. Si algo no se cumple, la aplicación no arranca.
+ *
+ * @author Andres Felipe Espitia Rodriguez
+ * @author Johan Sebastian Gomez Beltran
+ * @author Kevin David Peña Bustos
+ * @author David Esteban López Castillo
+ * @version 2.0
+ */
+@Service
+@ConditionalOnProperty(name = "electroshop.datasource.validate", havingValue = "true")
+public class DataSourcePoolValidator {
+
+	/** Propiedades del driver de MySQL que deben estar en {@code true}. */
+	static final List<String> REQUIRED_MYSQL_PROPERTIES = List.of("cachePrepStmts", "useServerPrepStmts",
+			"rewriteBatchedStatements");
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private ServerProperties serverProperties;
+
+	@Autowired
+	private TaskExecutionProperties taskExecutionProperties;
+
+	@Value("${spring.task.scheduling.pool.size:1}")
+	private int schedulerThreads;
+
+	@Value("${spring.threads.virtual.enabled:false}")
+	private boolean virtualThreads;
+
+	/**
+	 * Constructor por defecto de la clase DataSourcePoolValidator.
+	 */
+	public DataSourcePoolValidator() {
+	}
+
+	/**
+	 * @throws SQLException          Si no se puede inspeccionar el DataSource.
+	 * @throws IllegalStateException Si el pool no cumple con la configuración
+	 *                               esperada.
+	 */
+	@PostConstruct
+	void validate() throws SQLException {
+		if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+			throw new IllegalStateException("electroshop.datasource.validate requiere un pool HikariCP");
+		}
+		List<String> problems = problems(dataSource.unwrap(HikariDataSource.class));
+		if (!problems.isEmpty()) {
+			throw new IllegalStateException("Configuración del pool inválida: " + String.join("; ", problems));
+		}
+	}
+
+	/**
+	 * @param hikari Pool a revisar.
+	 * @return Los problemas encontrados, vacío si el pool está bien configurado.
+	 */
+	List<String> problems(HikariDataSource hikari) {
+		List<String> problems = new ArrayList<>();
+		int poolSize = hikari.getMaximumPoolSize();
+		if (!virtualThreads) {
+			int workers = serverProperties.getTomcat().getThreads().getMax()
+					+ taskExecutionProperties.getPool().getCoreSize() + schedulerThreads;
+			if (poolSize > workers) {
+				problems.add("maximum-pool-size (" + poolSize + ") supera los " + workers
+						+ " hilos que pueden pedir conexiones");
+			}
+		}
+		int minimumIdle = hikari.getMinimumIdle();
+		if (minimumIdle >= 0 && minimumIdle != poolSize) {
+			problems.add("minimum-idle (" + minimumIdle + ") debe ser igual a maximum-pool-size (" + poolSize
+					+ ") para no abrir conexiones bajo carga");
+		}
+		String url = hikari.getJdbcUrl();
+		if (url != null && url.startsWith("jdbc:mysql:")) {
+			Properties properties = hikari.getDataSourceProperties();
+			for (String property : REQUIRED_MYSQL_PROPERTIES) {
+				if (!"true".equals(properties.getProperty(property)) && !url.contains(property + "=true")) {
+					problems.add(property + " debe estar en true");
+				}
+			}
+		}
+		return problems;
+	}
+}
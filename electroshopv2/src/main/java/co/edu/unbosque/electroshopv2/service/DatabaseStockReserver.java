@@ -0,0 +1,81 @@
+package co.edu.unbosque.electroshopv2.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import co.edu.unbosque.electroshopv2.repository.StockRepository;
+import jakarta.transaction.Transactional;
+
+/**
+ * Reserva el inventario directamente en la tabla inventarios.
+ * 
+ * Cada reserva es una actualización condicional, sin leer ni modificar la
+ * entidad @linkStock en memoria, y todas las de un pedido viajan en un solo
+ * lote. Es el modo por defecto ({@code electroshop.stock.mode=database}).
+ * 
+ * @author Andres Felipe Espitia Rodriguez
+ * @author Johan Sebastian Gomez Beltran
+ * @author Kevin David Peña Bustos
+ * @author David Esteban López Castillo
+ * @version 2.0
+ */
+@Service
+@ConditionalOnProperty(name = "electroshop.stock.mode", havingValue = "database", matchIfMissing = true)
+public class DatabaseStockReserver implements StockReserver {
+
+	@Autowired
+	private StockRepository stockRepository;
+
+	/**
+	 * Constructor por defecto de la clase DatabaseStockReserver.
+	 */
+	public DatabaseStockReserver() {
+	}
+
+	/**
+	 * Devuelve a inventarios lo que haya quedado repartido en franjas si antes se
+	 * usó el modo {@code striped}.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	@Transactional
+	public void mergeStripes() {
+		stockRepository.mergeStripes();
+	}
+
+	/**
+	 * Las filas que sí se descontaron no se revierten aquí: quien llama debe
+	 * devolverlas o abortar su transacción si algún producto no tenía stock
+	 * suficiente.
+	 */
+	@Override
+	@Transactional
+	public List<Integer> reserve(SortedMap<Integer, Integer> quantities) {
+		if (quantities.size() == 1) {
+			Integer productId = quantities.firstKey();
+			return stockRepository.reserveStock(productId, quantities.get(productId)) == 1 ? List.of()
+					: List.of(productId);
+		}
+		int[] updated = stockRepository.reserveStockBatch(quantities);
+		List<Integer> rejected = new ArrayList<>();
+		int row = 0;
+		for (Integer productId : quantities.keySet()) {
+			if (updated[row++] == 0) {
+				rejected.add(productId);
+			}
+		}
+		return rejected;
+	}
+
+	@Override
+	@Transactional
+	public void release(SortedMap<Integer, Integer> quantities) {
+		stockRepository.releaseStockBatch(quantities);
+	}
+}
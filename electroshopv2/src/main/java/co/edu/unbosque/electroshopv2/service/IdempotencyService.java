@@ -0,0 +1,148 @@
+package co.edu.unbosque.electroshopv2.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import co.edu.unbosque.electroshopv2.model.IdempotencyRecord;
+import co.edu.unbosque.electroshopv2.repository.IdempotencyRecordRepository;
+import jakarta.transaction.Transactional;
+
+/**
+ * Servicio que evita procesar dos veces un pedido reintentado con la misma
+ * cabecera {@code Idempotency-Key}.
+ * 
+ * Las respuestas se buscan primero en memoria, en un @linkConcurrentHashMap
+ * cuyos bloqueos están repartidos por cubeta, y luego en la tabla
+ * {@code claves_idempotencia}. El mapa guarda el futuro de la respuesta desde
+ * que empieza el primer intento, así que los reintentos concurrentes de una
+ * misma clave esperan ese resultado en lugar de crear otro pedido. Un duplicado
+ * nunca llega a los repositorios de pedidos ni de inventario.
+ * 
+ * Se guardan las respuestas exitosas y los rechazos del negocio (stock,
+ * tarjeta, cliente inexistente). Los errores inesperados no se guardan, para
+ * que el cliente pueda reintentar.
+ * 
+ * @author Andres Felipe Espitia Rodriguez
+ * @author Johan Sebastian Gomez Beltran
+ * @author Kevin David Peña Bustos
+ * @author David Esteban López Castillo
+ * @version 2.0
+ */
+@Service
+public class IdempotencyService {
+
+	/** Longitud máxima de una clave de idempotencia. */
+	public static final int MAX_KEY_LENGTH = 100;
+
+	@Autowired
+	private IdempotencyRecordRepository idempotencyRecordRepository;
+
+	@Value("${electroshop.idempotency.ttl:24h}")
+	private Duration ttl;
+
+	@Value("${electroshop.idempotency.memory-ttl:10m}")
+	private Duration memoryTtl;
+
+	private final ConcurrentHashMap<String, CompletableFuture<IdempotencyRecord>> responses = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructor por defecto de la clase IdempotencyService.
+	 */
+	public IdempotencyService() {
+	}
+
+	/**
+	 * Ejecuta el trabajo de una clave solo la primera vez.
+	 * 
+	 * @param key  Clave de idempotencia enviada por el cliente.
+	 * @param work Trabajo que produce el cuerpo de la respuesta.
+	 * @return Futuro con la respuesta de la clave, ya sea la nueva o la guardada.
+	 *         Se completa con la excepción original si el trabajo o la consulta
+	 *         de la clave fallan con un error inesperado; en ese caso la clave
+	 *         se libera para que un reintento vuelva a ejecutar el trabajo.
+	 */
+	public CompletableFuture<IdempotencyRecord> execute(String key, Supplier<CompletableFuture<String>> work) {
+		CompletableFuture<IdempotencyRecord> response = new CompletableFuture<>();
+		CompletableFuture<IdempotencyRecord> previous = responses.putIfAbsent(key, response);
+		if (previous != null) {
+			return previous;
+		}
+
+		try {
+			Optional<IdempotencyRecord> stored = idempotencyRecordRepository.findById(key);
+			if (stored.isPresent()) {
+				if (stored.get().getCreatedAt().isAfter(Instant.now().minus(ttl))) {
+					response.complete(stored.get());
+					return response;
+				}
+				idempotencyRecordRepository.delete(stored.get());
+			}
+		} catch (RuntimeException e) {
+			responses.remove(key, response);
+			response.completeExceptionally(e);
+			return response;
+		}
+
+		CompletableFuture<String> result;
+		try {
+			result = work.get();
+		} catch (RuntimeException e) {
+			result = CompletableFuture.failedFuture(e);
+		}
+		result.whenComplete((body, error) -> record(key, response, body, error));
+		return response;
+	}
+
+	/**
+	 * Elimina las respuestas vencidas de la memoria y de la base de datos.
+	 */
+	@Scheduled(fixedDelayString = "${electroshop.idempotency.cleanup-interval-ms:60000}")
+	@Transactional
+	public void evictExpired() {
+		Instant now = Instant.now();
+		Instant memoryLimit = now.minus(memoryTtl);
+		responses.values().removeIf(response -> response.isDone() && !response.isCompletedExceptionally()
+				&& response.join().getCreatedAt().isBefore(memoryLimit));
+		idempotencyRecordRepository.deleteCreatedBefore(now.minus(ttl));
+	}
+
+	/**
+	 * Guarda la respuesta de una clave y la entrega a quienes la esperan.
+	 * 
+	 * @param key      Clave de idempotencia.
+	 * @param response Futuro publicado en el mapa para la clave.
+	 * @param body     Cuerpo de la respuesta exitosa.
+	 * @param error    Error con el que terminó el trabajo, o {@code null}.
+	 */
+	private void record(String key, CompletableFuture<IdempotencyRecord> response, String body, Throwable error) {
+		IdempotencyRecord record;
+		if (error == null) {
+			record = new IdempotencyRecord(key, HttpStatus.OK.value(), body, Instant.now());
+		} else {
+			Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+			HttpStatus status = OrderWorkflowService.statusOf(cause);
+			if (status.is5xxServerError()) {
+				responses.remove(key, response);
+				response.completeExceptionally(cause);
+				return;
+			}
+			record = new IdempotencyRecord(key, status.value(), cause.getMessage(), Instant.now());
+		}
+		try {
+			idempotencyRecordRepository.save(record);
+		} finally {
+			response.complete(record);
+		}
+	}
+}
@@ -0,0 +1,226 @@
+package co.edu.unbosque.electroshopv2.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import co.edu.unbosque.electroshopv2.repository.StockRepository;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Libro de inventario en memoria que atiende las reservas sin bloquear filas de
+ * la tabla inventarios ({@code electroshop.stock.mode=ledger}).
+ *
+ * Cada producto tiene su propio contador: las reservas se aplican con
+ * compare-and-set sobre un @linkAtomicLong, de modo que dos productos nunca
+ * compiten entre sí y un producto muy vendido no espera a MySQL. Lo descontado
+ * desde la última escritura se acumula en un @linkLongAdder y se escribe en
+ * inventarios por lotes cada {@code electroshop.stock.flush-interval-ms}.
+ *
+ * Al arrancar, el libro se carga desde la tabla. Como la escritura es diferida,
+ * este modo supone una sola instancia de la aplicación y que el inventario solo
+ * se modifica a través de ella; lo que no alcanzó a escribirse se pierde si el
+ * proceso termina de forma abrupta.
+ *
+ * @author Andres Felipe Espitia Rodriguez
+ * @author Johan Sebastian Gomez Beltran
+ * @author Kevin David Peña Bustos
+ * @author David Esteban López Castillo
+ * @version 2.0
+ */
+@Service
+@ConditionalOnProperty(name = "electroshop.stock.mode", havingValue = "ledger")
+public class InventoryLedger implements StockReserver {
+
+	@Autowired
+	private StockRepository stockRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private final ConcurrentHashMap<Integer, Entry> entries = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructor por defecto de la clase InventoryLedger.
+	 */
+	public InventoryLedger() {
+	}
+
+	/**
+	 * Carga el inventario de todos los productos desde la tabla inventarios,
+	 * reemplazando lo que hubiera en el libro. Antes devuelve a inventarios lo que
+	 * haya quedado repartido en franjas si antes se usó el modo {@code striped}.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		transactionTemplate.executeWithoutResult(status -> stockRepository.mergeStripes());
+		entries.clear();
+		for (Map.Entry<Integer, Integer> row : stockRepository.findAllQuantities().entrySet()) {
+			entries.put(row.getKey(), new Entry(row.getValue()));
+		}
+	}
+
+	/**
+	 * Si la reserva ocurre dentro de una transacción que luego se revierte, el
+	 * stock vuelve al libro, igual que volvería a la tabla en el modo
+	 * {@code database}.
+	 */
+	@Override
+	public List<Integer> reserve(SortedMap<Integer, Integer> quantities) {
+		List<Integer> rejected = new ArrayList<>();
+		SortedMap<Integer, Integer> reserved = new TreeMap<>();
+		for (Map.Entry<Integer, Integer> line : quantities.entrySet()) {
+			Entry entry = entry(line.getKey());
+			if (entry != null && entry.reserve(line.getValue())) {
+				reserved.put(line.getKey(), line.getValue());
+			} else {
+				rejected.add(line.getKey());
+			}
+		}
+		onRollback(reserved, -1);
+		return rejected;
+	}
+
+	@Override
+	public void release(SortedMap<Integer, Integer> quantities) {
+		for (Map.Entry<Integer, Integer> line : quantities.entrySet()) {
+			Entry entry = entry(line.getKey());
+			if (entry != null) {
+				entry.add(line.getValue());
+			}
+		}
+		onRollback(quantities, 1);
+	}
+
+	/**
+	 * @param productId Identificador del producto.
+	 * @return El stock disponible en el libro, o -1 si el producto no tiene
+	 *         inventario.
+	 */
+	public long available(Integer productId) {
+		Entry entry = entry(productId);
+		return entry == null ? -1 : entry.available.get();
+	}
+
+	/**
+	 * Escribe en inventarios, en un solo lote y una sola transacción, lo reservado
+	 * y devuelto desde la última escritura. Si la escritura falla, las cantidades
+	 * se conservan para el siguiente intento.
+	 */
+	@Scheduled(fixedDelayString = "${electroshop.stock.flush-interval-ms:500}")
+	@PreDestroy
+	public void flush() {
+		SortedMap<Integer, Integer> deltas = new TreeMap<>();
+		for (Map.Entry<Integer, Entry> entry : entries.entrySet()) {
+			long delta = entry.getValue().pending.sumThenReset();
+			if (delta != 0) {
+				deltas.put(entry.getKey(), (int) delta);
+			}
+		}
+		if (deltas.isEmpty()) {
+			return;
+		}
+		try {
+			transactionTemplate.executeWithoutResult(status -> stockRepository.releaseStockBatch(deltas));
+		} catch (RuntimeException e) {
+			for (Map.Entry<Integer, Integer> delta : deltas.entrySet()) {
+				entries.get(delta.getKey()).pending.add(delta.getValue());
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Obtiene el contador de un producto, cargándolo desde la tabla si el producto
+	 * se creó después del arranque.
+	 *
+	 * @param productId Identificador del producto.
+	 * @return El contador, o {@code null} si el producto no tiene inventario.
+	 */
+	private Entry entry(Integer productId) {
+		Entry entry = entries.get(productId);
+		if (entry != null) {
+			return entry;
+		}
+		return stockRepository.findQuantity(productId)
+				.map(quantity -> entries.computeIfAbsent(productId, id -> new Entry(quantity))).orElse(null);
+	}
+
+	/**
+	 * Deshace un cambio en el libro si la transacción actual se revierte.
+	 *
+	 * @param quantities Cantidades aplicadas por producto.
+	 * @param sign       -1 si se reservaron, 1 si se devolvieron.
+	 */
+	private void onRollback(SortedMap<Integer, Integer> quantities, int sign) {
+		if (quantities.isEmpty() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(int status) {
+				if (status == STATUS_ROLLED_BACK) {
+					for (Map.Entry<Integer, Integer> line : quantities.entrySet()) {
+						entries.get(line.getKey()).add(-sign * line.getValue());
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Contador de inventario de un producto.
+	 */
+	private static final class Entry {
+
+		/** Stock disponible para reservar. */
+		private final AtomicLong available;
+
+		/** Cambio neto aún no escrito en la tabla inventarios. */
+		private final LongAdder pending = new LongAdder();
+
+		private Entry(long available) {
+			this.available = new AtomicLong(available);
+		}
+
+		/**
+		 * @param quantity Cantidad a reservar.
+		 * @return {@code true} si había stock suficiente y se descontó.
+		 */
+		private boolean reserve(long quantity) {
+			long current;
+			do {
+				current = available.get();
+				if (current < quantity) {
+					return false;
+				}
+			} while (!available.compareAndSet(current, current - quantity));
+			pending.add(-quantity);
+			return true;
+		}
+
+		/**
+		 * @param quantity Cantidad a sumar al stock disponible; negativa para
+		 *                 descontar sin validar.
+		 */
+		private void add(long quantity) {
+			available.addAndGet(quantity);
+			pending.add(quantity);
+		}
+	}
+}
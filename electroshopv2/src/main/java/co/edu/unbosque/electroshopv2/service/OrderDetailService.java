@@ -1,18 +1,26 @@
 package co.edu.unbosque.electroshopv2.service;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.StringJoiner;
+import java.util.TreeMap;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import co.edu.unbosque.electroshopv2.exception.NoEnoughStockException;
+import co.edu.unbosque.electroshopv2.exception.NotFoundException;
 import co.edu.unbosque.electroshopv2.model.Order;
+import co.edu.unbosque.electroshopv2.model.OrderDetail;
 import co.edu.unbosque.electroshopv2.model.OrderDetailDTO;
 import co.edu.unbosque.electroshopv2.model.Product;
+import co.edu.unbosque.electroshopv2.model.ProductDTO;
 import co.edu.unbosque.electroshopv2.repository.OrderDetailRepository;
-import co.edu.unbosque.electroshopv2.repository.OrderRepository;
-import co.edu.unbosque.electroshopv2.repository.ProductRepository;
-import co.edu.unbosque.electroshopv2.repository.StockRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.transaction.Transactional;
 
 /**
  * Servicio que gestiona la creación y adición de detalles a los pedidos.}
@@ -30,13 +38,16 @@ public class OrderDetailService {
     private OrderDetailRepository orderDetailRepository;
     
     @Autowired
-    private OrderRepository orderRepository;
+    private ProductService productService;
     
     @Autowired
-    private ProductRepository productRepository;
-    
+    private StockService stockService;
+
     @Autowired
-    private StockRepository stockRepository;
+    private OrderMetrics orderMetrics;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
     
     /**
      * Constructor por defecto de la clase OrderDetailService.
@@ -45,41 +56,85 @@ public class OrderDetailService {
     }
 
     /**
-     * Crea un detalle de pedido para un producto específico.
+     * Añade una lista de detalles de pedido a un pedido existente.
      * 
-     * Verifica que haya suficiente stock disponible antes de crear el detalle.
-     * Si no hay suficiente stock, lanza una excepción @linkNoEnoughStockException.
+     * El costo en viajes a la base de datos no depende del tamaño de la canasta:
+     * los productos salen de la caché de @linkProductService (con a lo sumo una
+     * consulta para los que falten), luego va un lote de actualizaciones
+     * condicionales de stock y un lote de inserciones de detalles.
+     * Las líneas repetidas de un mismo producto se suman en un solo detalle.
      * 
-     * @param orderDetail DTO que contiene la información del detalle del pedido.
-     * @return {@code true} si el detalle del pedido se crea con éxito.
-     * @throws NoEnoughStockException Si no hay suficiente stock para el producto solicitado.
+     * @param order Pedido persistido al que se añaden los detalles.
+     * @param orderDetails Lista de detalles de pedido a añadir.
+     * @return Un mensaje indicando cuántos detalles fueron agregados exitosamente.
+     * @throws NotFoundException Si alguno de los productos no existe.
+     * @throws NoEnoughStockException Si algún producto no tiene stock suficiente; en
+     *         ese caso no se descuenta el stock de ningún producto.
      */
-    public boolean createOrderDetail(OrderDetailDTO orderDetail) {
-        List<Order> orders = (List<Order>) orderRepository.findAll();
-        Order order = orders.get(orders.size() - 1);  // Obtiene el último pedido
-        Product product = productRepository.findById(orderDetail.getProduct()).get();
-        
-        if(stockRepository.findById(orderDetail.getProduct()).get().getStock() < orderDetail.getQuantity()) {
-            throw new NoEnoughStockException("No hay suficientes " + stockRepository.findById(orderDetail.getProduct()).get().getProduct().getName());
-        }
-        
-        stockRepository.findById(orderDetail.getProduct()).get().setStock(stockRepository.findById(orderDetail.getProduct()).get().getStock() - orderDetail.getQuantity());
-        
-        orderDetailRepository.save(DataMapper.transformOrderDetailDTOToOrderDetail(orderDetail, order, product));
-        return true;
+    @Transactional
+    public String addDetails(Order order, List<OrderDetailDTO> orderDetails) {
+        saveDetails(order, reserveDetails(orderDetails));
+        return orderDetails.size() + " detalles agregados con éxito";
     }
 
     /**
-     * Añade una lista de detalles de pedido a un pedido existente.
+     * Reserva el stock de las líneas de un pedido, sumando las líneas repetidas
+     * de un mismo producto.
      * 
-     * @param orderDetails Lista de detalles de pedido a añadir.
-     * @return Un mensaje indicando cuántos detalles fueron agregados exitosamente.
+     * Si algún producto no tiene stock suficiente, devuelve lo que alcanzó a
+     * reservar antes de lanzar la excepción, de modo que quien llama puede
+     * seguir usando la transacción para otros pedidos.
+     * 
+     * @param orderDetails Líneas del pedido.
+     * @return Cantidad reservada por identificador de producto.
+     * @throws NotFoundException Si alguno de los productos no existe.
+     * @throws NoEnoughStockException Si algún producto no tiene stock suficiente.
      */
-    public String addDetails(List<OrderDetailDTO> orderDetails) {
+    public SortedMap<Integer, Integer> reserveDetails(List<OrderDetailDTO> orderDetails) {
+        SortedMap<Integer, Integer> quantities = new TreeMap<>();
         for(OrderDetailDTO od : orderDetails) {
-            createOrderDetail(od);
+            quantities.merge(od.getProduct(), od.getQuantity(), Integer::sum);
         }
-        return orderDetails.size() + " detalles agregados con éxito";
+
+        Map<Integer, ProductDTO> products = productService.findProducts(quantities.keySet());
+        for(Integer productId : quantities.keySet()) {
+            if(!products.containsKey(productId)) {
+                throw new NotFoundException("No existe el producto " + productId);
+            }
+        }
+
+        List<Integer> rejected = stockService.reserveStocks(quantities);
+        if(!rejected.isEmpty()) {
+            SortedMap<Integer, Integer> reserved = new TreeMap<>(quantities);
+            StringJoiner names = new StringJoiner(", ");
+            for(Integer productId : rejected) {
+                reserved.remove(productId);
+                names.add(products.get(productId).getName());
+            }
+            if(!reserved.isEmpty()) {
+                stockService.releaseStocks(reserved);
+            }
+            orderMetrics.stockRejected();
+            throw new NoEnoughStockException("No hay suficientes " + names);
+        }
+        return quantities;
+    }
+
+    /**
+     * Registra con un solo lote de inserciones los detalles de un pedido cuyo
+     * stock ya fue reservado con {@link #reserveDetails(List)}.
+     * 
+     * @param order Pedido persistido al que se añaden los detalles.
+     * @param quantities Cantidad reservada por identificador de producto.
+     */
+    public void saveDetails(Order order, SortedMap<Integer, Integer> quantities) {
+        List<OrderDetail> details = new ArrayList<>(quantities.size());
+        for(Map.Entry<Integer, Integer> entry : quantities.entrySet()) {
+            OrderDetailDTO detail = new OrderDetailDTO(order.getOrderId(), entry.getKey(), entry.getValue());
+            Product reference = entityManager.getReference(Product.class, entry.getKey());
+            details.add(DataMapper.transformOrderDetailDTOToOrderDetail(detail, order, reference));
+        }
+        orderDetailRepository.saveAll(details);
     }
     
 }
@@ -0,0 +1,194 @@
+package co.edu.unbosque.electroshopv2.service;
+
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import co.edu.unbosque.electroshopv2.exception.CardNotValidException;
+import co.edu.unbosque.electroshopv2.exception.NoEnoughStockException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Métricas del procesamiento de pedidos, publicadas en
+ * {@code /actuator/prometheus}.
+ * 
+ * Registra un temporizador con histograma de percentiles por cada etapa de
+ * {@code processAnOrder} ({@code electroshop.order.stage}), contadores de
+ * pedidos rechazados por stock o por tarjeta
+ * ({@code electroshop.order.rejections}) y la saturación del pool de
+ * conexiones ({@code electroshop.datasource.saturation}), que complementa las
+ * métricas {@code hikaricp.*} de Spring Boot.
+ * 
+ * @author Andres Felipe Espitia Rodriguez
+ * @author Johan Sebastian Gomez Beltran
+ * @author Kevin David Peña Bustos
+ * @author David Esteban López Castillo
+ * @version 2.0
+ */
+@Service
+public class OrderMetrics {
+
+	/** Etapa de creación del pedido. */
+	public static final String CREATE_ORDER = "createOrder";
+
+	/** Etapa de validación y autorización de la tarjeta. */
+	public static final String VALIDATE_CARD = "validateCard";
+
+	/** Etapa de reserva de stock y registro de los detalles. */
+	public static final String ADD_DETAILS = "addDetails";
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private DataSource dataSource;
+
+	private Timer createOrderTimer;
+
+	private Timer validateCardTimer;
+
+	private Timer addDetailsTimer;
+
+	private Counter stockRejections;
+
+	private Counter cardRejections;
+
+	/**
+	 * Constructor por defecto de la clase OrderMetrics.
+	 */
+	public OrderMetrics() {
+	}
+
+	/**
+	 * Registra los temporizadores, los contadores y el indicador de saturación del
+	 * pool para que se publiquen desde el arranque, aunque aún no haya pedidos.
+	 * 
+	 * @throws SQLException Si no se puede inspeccionar el DataSource.
+	 */
+	@PostConstruct
+	void registerMeters() throws SQLException {
+		createOrderTimer = newStageTimer(CREATE_ORDER);
+		validateCardTimer = newStageTimer(VALIDATE_CARD);
+		addDetailsTimer = newStageTimer(ADD_DETAILS);
+		stockRejections = rejectionCounter(NoEnoughStockException.class);
+		cardRejections = rejectionCounter(CardNotValidException.class);
+		if (dataSource.isWrapperFor(HikariDataSource.class)) {
+			HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+			Gauge.builder("electroshop.datasource.saturation", hikari, OrderMetrics::poolSaturation)
+					.description("Fracción de conexiones del pool en uso").register(meterRegistry);
+		}
+	}
+
+	/**
+	 * Mide la duración de una etapa síncrona del pedido.
+	 * 
+	 * @param stage Nombre de la etapa.
+	 * @param work  Trabajo de la etapa.
+	 * @return El resultado de la etapa.
+	 */
+	public <T> T time(String stage, Supplier<T> work) {
+		return stageTimer(stage).record(work);
+	}
+
+	/**
+	 * Mide la duración de una etapa asíncrona, desde que se inicia hasta que el
+	 * futuro que devuelve se completa, con éxito o con error.
+	 * 
+	 * @param stage Nombre de la etapa.
+	 * @param work  Trabajo que inicia la etapa.
+	 * @return El mismo futuro devuelto por la etapa.
+	 */
+	public <T> CompletableFuture<T> timeAsync(String stage, Supplier<CompletableFuture<T>> work) {
+		Timer timer = stageTimer(stage);
+		Timer.Sample sample = Timer.start(meterRegistry);
+		CompletableFuture<T> future;
+		try {
+			future = work.get();
+		} catch (RuntimeException e) {
+			sample.stop(timer);
+			throw e;
+		}
+		future.whenComplete((result, error) -> sample.stop(timer));
+		return future;
+	}
+
+	/**
+	 * Cuenta un pedido rechazado por falta de stock.
+	 */
+	public void stockRejected() {
+		stockRejections.increment();
+	}
+
+	/**
+	 * Cuenta un pedido rechazado porque la tarjeta no es válida o la pasarela
+	 * rechazó la compra.
+	 */
+	public void cardRejected() {
+		cardRejections.increment();
+	}
+
+	/**
+	 * @param stage Nombre de la etapa.
+	 * @return El temporizador de la etapa, registrado al arrancar.
+	 * @throws IllegalArgumentException Si la etapa no es una de las constantes de
+	 *                                  esta clase.
+	 * @throws IllegalStateException    Si los temporizadores aún no se
+	 *                                  registraron.
+	 */
+	private Timer stageTimer(String stage) {
+		Timer timer = switch (stage) {
+		case CREATE_ORDER -> createOrderTimer;
+		case VALIDATE_CARD -> validateCardTimer;
+		case ADD_DETAILS -> addDetailsTimer;
+		default -> throw new IllegalArgumentException("Etapa desconocida: " + stage);
+		};
+		if (timer == null) {
+			throw new IllegalStateException("Los temporizadores de las etapas no se han registrado");
+		}
+		return timer;
+	}
+
+	/**
+	 * @param stage Nombre de la etapa.
+	 * @return Un temporizador con histograma de percentiles para la etapa.
+	 */
+	private Timer newStageTimer(String stage) {
+		return Timer.builder("electroshop.order.stage").description("Duración de cada etapa de processAnOrder")
+				.tag("stage", stage).publishPercentiles(0.5, 0.95, 0.99).publishPercentileHistogram()
+				.register(meterRegistry);
+	}
+
+	/**
+	 * @param exception Excepción que representa el motivo del rechazo.
+	 * @return El contador de rechazos para ese motivo.
+	 */
+	private Counter rejectionCounter(Class<? extends RuntimeException> exception) {
+		return Counter.builder("electroshop.order.rejections").description("Pedidos rechazados por motivo")
+				.tag("exception", exception.getSimpleName()).register(meterRegistry);
+	}
+
+	/**
+	 * @param hikari Pool de conexiones.
+	 * @return Conexiones activas sobre el máximo del pool, o NaN si el pool aún no
+	 *         se ha iniciado.
+	 */
+	private static double poolSaturation(HikariDataSource hikari) {
+		HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+		if (pool == null) {
+			return Double.NaN;
+		}
+		return (double) pool.getActiveConnections() / hikari.getMaximumPoolSize();
+	}
+}
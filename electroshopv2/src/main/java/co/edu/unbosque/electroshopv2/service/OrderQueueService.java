@@ -0,0 +1,259 @@
+package co.edu.unbosque.electroshopv2.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import co.edu.unbosque.electroshopv2.exception.CardNotValidException;
+import co.edu.unbosque.electroshopv2.exception.NotFoundException;
+import co.edu.unbosque.electroshopv2.exception.QueueFullException;
+import co.edu.unbosque.electroshopv2.exception.TotalMismatchException;
+import co.edu.unbosque.electroshopv2.model.OrderResponseDTO;
+import co.edu.unbosque.electroshopv2.model.OrderTicketDTO;
+import co.edu.unbosque.electroshopv2.model.RequestOrderDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Cola de pedidos para el modo asíncrono de {@code /api/pedidos/encolar}.
+ *
+ * El hilo de Tomcat solo valida la tarjeta, el valor total y el cliente, deja
+ * el pedido en una cola acotada de {@code electroshop.queue.capacity}
+ * posiciones y responde de inmediato con un token. Si la cola está llena, el
+ * pedido se rechaza con 503 en lugar de acumular trabajo sin límite.
+ * {@code electroshop.queue.workers} hilos propios vacían la cola en lotes de
+ * hasta {@code electroshop.queue.batch-size} pedidos, que se procesan como una
+ * carga masiva, y guardan el resultado de cada uno para consultarlo con su
+ * token durante {@code electroshop.queue.result-ttl}.
+ *
+ * La cola vive en memoria: los pedidos que siguen en ella se pierden si el
+ * proceso se detiene.
+ *
+ * @author Andres Felipe Espitia Rodriguez
+ * @author Johan Sebastian Gomez Beltran
+ * @author Kevin David Peña Bustos
+ * @author David Esteban López Castillo
+ * @version 2.0
+ */
+@Service
+public class OrderQueueService {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(OrderQueueService.class);
+
+	@Autowired
+	private OrderWorkflowService orderWorkflowService;
+
+	@Autowired
+	private CardService cardService;
+
+	@Autowired
+	private PriceTable priceTable;
+
+	@Autowired
+	private ClientDirectory clientDirectory;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${electroshop.queue.capacity:10000}")
+	private int capacity;
+
+	@Value("${electroshop.queue.workers:2}")
+	private int workers;
+
+	@Value("${electroshop.queue.batch-size:50}")
+	private int batchSize;
+
+	@Value("${electroshop.queue.result-ttl:10m}")
+	private Duration resultTtl;
+
+	private BlockingQueue<QueuedOrder> queue;
+
+	private ExecutorService workerPool;
+
+	private final ConcurrentHashMap<String, Ticket> tickets = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructor por defecto de la clase OrderQueueService.
+	 */
+	public OrderQueueService() {
+	}
+
+	/**
+	 * Crea la cola, publica su tamaño como {@code electroshop.order.queue.size} y
+	 * arranca los trabajadores.
+	 *
+	 * @throws IllegalArgumentException Si {@code electroshop.queue.workers} es
+	 *                                  menor que uno, ya que nadie vaciaría la
+	 *                                  cola.
+	 */
+	@PostConstruct
+	void start() {
+		if (workers < 1) {
+			throw new IllegalArgumentException("La cola de pedidos necesita al menos un trabajador");
+		}
+		queue = new ArrayBlockingQueue<>(capacity);
+		Gauge.builder("electroshop.order.queue.size", queue, BlockingQueue::size)
+				.description("Pedidos encolados que aún no se procesan").register(meterRegistry);
+		workerPool = Executors.newFixedThreadPool(workers, Thread.ofPlatform().name("order-queue-", 0).factory());
+		for (int i = 0; i < workers; i++) {
+			workerPool.execute(this::work);
+		}
+	}
+
+	/**
+	 * Detiene los trabajadores y espera a que terminen el lote en curso; los
+	 * pedidos que siguen en la cola se descartan.
+	 *
+	 * @throws InterruptedException Si el hilo se interrumpe mientras espera.
+	 */
+	@PreDestroy
+	void stop() throws InterruptedException {
+		workerPool.shutdownNow();
+		workerPool.awaitTermination(10, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Valida la tarjeta, el valor total y el cliente, y encola un pedido.
+	 *
+	 * @param requestOrderDTO Solicitud con el pedido, la tarjeta y los detalles.
+	 * @return El estado {@code PENDIENTE} del pedido, con su token.
+	 * @throws CardNotValidException  Si la tarjeta no es válida.
+	 * @throws NotFoundException      Si el cliente o alguno de los productos no
+	 *                                existe.
+	 * @throws TotalMismatchException Si el valor total no coincide con el de los
+	 *                                productos.
+	 * @throws QueueFullException     Si la cola no tiene espacio.
+	 */
+	public OrderTicketDTO submit(RequestOrderDTO requestOrderDTO) {
+		cardService.checkCard(requestOrderDTO.getCardDTO());
+		priceTable.checkTotal(requestOrderDTO);
+		clientDirectory.checkClient(requestOrderDTO.getOrderDTO().getClientDTO());
+		String token = UUID.randomUUID().toString();
+		OrderTicketDTO ticket = new OrderTicketDTO(token, OrderTicketDTO.PENDING, null, null);
+		tickets.put(token, new Ticket(ticket, null));
+		if (!queue.offer(new QueuedOrder(token, requestOrderDTO))) {
+			tickets.remove(token);
+			throw new QueueFullException("La cola de pedidos está llena, intente más tarde");
+		}
+		return ticket;
+	}
+
+	/**
+	 * @param token Token entregado al encolar el pedido.
+	 * @return El estado del pedido, o vacío si el token no existe o su resultado
+	 *         ya venció.
+	 */
+	public Optional<OrderTicketDTO> status(String token) {
+		return Optional.ofNullable(tickets.get(token)).map(Ticket::ticket);
+	}
+
+	/**
+	 * Espera el siguiente pedido y procesa el lote de pedidos disponibles en ese
+	 * momento. Si el lote falla por completo, incluso con un @linkError, todos sus
+	 * pedidos quedan rechazados con el error en lugar de quedar pendientes.
+	 *
+	 * @throws InterruptedException Si el hilo se interrumpe mientras espera.
+	 */
+	void processNextBatch() throws InterruptedException {
+		List<QueuedOrder> batch = new ArrayList<>(batchSize);
+		batch.add(queue.take());
+		queue.drainTo(batch, batchSize - 1);
+
+		List<CompletableFuture<OrderResponseDTO>> results;
+		try {
+			results = orderWorkflowService.processOrders(batch.stream().map(QueuedOrder::request).toList());
+		} catch (RuntimeException | Error e) {
+			results = batch.stream().map(order -> CompletableFuture.<OrderResponseDTO>failedFuture(e)).toList();
+		}
+		Instant now = Instant.now();
+		for (int i = 0; i < batch.size(); i++) {
+			String token = batch.get(i).token();
+			tickets.put(token, new Ticket(toTicket(token, results.get(i)), now));
+		}
+	}
+
+	/**
+	 * Elimina los resultados que ya vencieron.
+	 */
+	@Scheduled(fixedDelayString = "${electroshop.queue.cleanup-interval-ms:60000}")
+	public void evictExpired() {
+		Instant limit = Instant.now().minus(resultTtl);
+		tickets.values().removeIf(ticket -> ticket.finishedAt() != null && ticket.finishedAt().isBefore(limit));
+	}
+
+	/**
+	 * Ciclo de un trabajador: procesa lotes hasta que se detiene la aplicación.
+	 * Un error inesperado en un lote se registra y el trabajador sigue con el
+	 * siguiente.
+	 */
+	private void work() {
+		while (!Thread.currentThread().isInterrupted()) {
+			try {
+				processNextBatch();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} catch (Throwable e) {
+				LOGGER.error("Falló un lote de la cola de pedidos", e);
+			}
+		}
+	}
+
+	/**
+	 * @param token     Token del pedido.
+	 * @param processed Futuro ya completado con el resultado del pedido.
+	 * @return El estado final del pedido.
+	 */
+	private OrderTicketDTO toTicket(String token, CompletableFuture<OrderResponseDTO> processed) {
+		try {
+			OrderTicketDTO ticket = new OrderTicketDTO(token, OrderTicketDTO.COMPLETED, HttpStatus.OK.value(), null);
+			ticket.setOrder(processed.join());
+			return ticket;
+		} catch (CompletionException e) {
+			Throwable error = e.getCause();
+			return new OrderTicketDTO(token, OrderTicketDTO.REJECTED, OrderWorkflowService.statusOf(error).value(),
+					error.getMessage());
+		}
+	}
+
+	/**
+	 * Pedido en espera de un trabajador.
+	 *
+	 * @param token   Token del pedido.
+	 * @param request Solicitud del pedido.
+	 */
+	private record QueuedOrder(String token, RequestOrderDTO request) {
+	}
+
+	/**
+	 * Estado de un pedido y momento en que terminó de procesarse.
+	 *
+	 * @param ticket     Estado del pedido.
+	 * @param finishedAt Momento en que se procesó, o {@code null} si sigue en la
+	 *                   cola.
+	 */
+	private record Ticket(OrderTicketDTO ticket, Instant finishedAt) {
+	}
+}
@@ -1,15 +1,35 @@
 package co.edu.unbosque.electroshopv2.service;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import co.edu.unbosque.electroshopv2.exception.NoEnoughStockException;
+import co.edu.unbosque.electroshopv2.exception.NotFoundException;
+import co.edu.unbosque.electroshopv2.exception.TotalMismatchException;
 import co.edu.unbosque.electroshopv2.model.Client;
+import co.edu.unbosque.electroshopv2.model.Order;
 import co.edu.unbosque.electroshopv2.model.OrderDTO;
-import co.edu.unbosque.electroshopv2.repository.ClientRepository;
+import co.edu.unbosque.electroshopv2.model.OrderDetail;
+import co.edu.unbosque.electroshopv2.model.OrderPageDTO;
+import co.edu.unbosque.electroshopv2.model.OrderSummaryDTO;
+import co.edu.unbosque.electroshopv2.model.PaymentMethod;
+import co.edu.unbosque.electroshopv2.model.RequestOrderDTO;
+import co.edu.unbosque.electroshopv2.repository.OrderDetailRepository;
 import co.edu.unbosque.electroshopv2.repository.OrderRepository;
+import co.edu.unbosque.electroshopv2.repository.PaymentMethodRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.transaction.Transactional;
 
 /**
- * Servicio que gestiona la creación de pedidos en la aplicación.
+ * Servicio que gestiona la creación y la consulta de pedidos en la aplicación.
  * 
  * @author Andres Felipe Espitia Rodriguez
  * @author Johan Sebastian Gomez Beltran
@@ -24,7 +44,28 @@ public class OrderService {
 	private OrderRepository orderRepository;
 
 	@Autowired
-	private ClientRepository clientRepository;
+	private ClientDirectory clientDirectory;
+
+	@Autowired
+	private PaymentMethodRepository paymentMethodRepository;
+
+	@Autowired
+	private OrderDetailRepository orderDetailRepository;
+
+	@Autowired
+	private OrderDetailService orderDetailService;
+
+	@Autowired
+	private StockService stockService;
+
+	@Autowired
+	private OrderMetrics orderMetrics;
+
+	@Autowired
+	private PriceTable priceTable;
+
+	@PersistenceContext
+	private EntityManager entityManager;
 
 	/**
 	 * Constructor por defecto de la clase OrderService.
@@ -35,16 +76,153 @@ public class OrderService {
 	/**
 	 * Crea un nuevo pedido basado en un objeto DTO de pedido.
 	 * 
-	 * Busca el cliente correspondiente en el repositorio y luego guarda el pedido
-	 * en el repositorio de pedidos.
+	 * Valida el cliente con @linkClientDirectory y lo asigna como una referencia,
+	 * sin consultar la tabla clientes; luego busca el método de pago y guarda el
+	 * pedido en el repositorio de pedidos. El método de pago se toma de la caché
+	 * de segundo nivel, por lo que normalmente no cuesta una consulta. El
+	 * identificador del pedido lo genera la base de datos, por lo que el pedido
+	 * devuelto es el que deben usar los detalles.
 	 * 
 	 * @param order Objeto @linkOrderDTO que contiene la información del pedido a
 	 *              crear.
-	 * @return @codetrue si el pedido se crea y guarda correctamente.
+	 * @return El @linkOrder persistido, con su identificador generado.
+	 * @throws NotFoundException Si el cliente o el método de pago del pedido no
+	 *                           existe.
+	 */
+	public Order createOrder(OrderDTO order) {
+		clientDirectory.checkClient(order.getClientDTO());
+		Client client = entityManager.getReference(Client.class, order.getClientDTO());
+		return orderRepository.save(DataMapper.transformOrderDTOToOrder(order, client, findPaymentMethod(order.getPaymentMethod())));
+	}
+
+	/**
+	 * @param requested Método de pago recibido en la solicitud; solo se usa su
+	 *                  identificador.
+	 * @return El método de pago registrado, o {@code null} si la solicitud no trae
+	 *         uno.
+	 * @throws NotFoundException Si el método de pago no existe.
+	 */
+	private PaymentMethod findPaymentMethod(PaymentMethod requested) {
+		if (requested == null || requested.getMethodId() == null) {
+			return null;
+		}
+		return paymentMethodRepository.findById(requested.getMethodId())
+				.orElseThrow(() -> new NotFoundException("No existe el método de pago " + requested.getMethodId()));
+	}
+
+	/**
+	 * Crea el pedido, reserva el stock y registra sus detalles en una única
+	 * transacción corta, que solo contiene trabajo SQL.
+	 * 
+	 * Antes de tocar la base de datos, el valor total se calcula con los precios
+	 * de @linkPriceTable y se compara con el enviado por el cliente.
+	 * 
+	 * @param requestOrderDTO Solicitud con el pedido y sus detalles.
+	 * @return El @linkOrder persistido, con su identificador generado.
+	 * @throws NotFoundException      Si el cliente o alguno de los productos no
+	 *                                existe.
+	 * @throws TotalMismatchException Si el valor total no coincide con el de los
+	 *                                productos.
+	 * @throws NoEnoughStockException Si algún producto no tiene stock suficiente;
+	 *                                en ese caso no queda nada registrado.
+	 */
+	@Transactional
+	public Order registerOrder(RequestOrderDTO requestOrderDTO) {
+		priceTable.checkTotal(requestOrderDTO);
+		Order order = orderMetrics.time(OrderMetrics.CREATE_ORDER, () -> createOrder(requestOrderDTO.getOrderDTO()));
+		orderMetrics.time(OrderMetrics.ADD_DETAILS,
+				() -> orderDetailService.addDetails(order, requestOrderDTO.getOrderDetails()));
+		return order;
+	}
+
+	/**
+	 * Registra un lote de pedidos en una única transacción corta.
+	 * 
+	 * Cada pedido se resuelve por separado: primero se validan su valor total y
+	 * su cliente, luego se reserva su stock y por último se crea con sus
+	 * detalles. Si un pedido falla, se devuelve lo que alcanzó a reservar y los
+	 * demás pedidos del lote siguen su curso.
+	 * 
+	 * @param requests Solicitudes del lote, con la tarjeta ya validada.
+	 * @return Un futuro ya completado por cada solicitud, en el mismo orden, con el
+	 *         @linkOrder persistido o con la excepción que lo impidió.
+	 */
+	@Transactional
+	public List<CompletableFuture<Order>> registerOrders(List<RequestOrderDTO> requests) {
+		List<CompletableFuture<Order>> registered = new ArrayList<>(requests.size());
+		for (RequestOrderDTO request : requests) {
+			SortedMap<Integer, Integer> quantities;
+			try {
+				priceTable.checkTotal(request);
+				clientDirectory.checkClient(request.getOrderDTO().getClientDTO());
+				quantities = orderMetrics.time(OrderMetrics.ADD_DETAILS,
+						() -> orderDetailService.reserveDetails(request.getOrderDetails()));
+			} catch (RuntimeException e) {
+				registered.add(CompletableFuture.failedFuture(e));
+				continue;
+			}
+			try {
+				Order order = orderMetrics.time(OrderMetrics.CREATE_ORDER, () -> createOrder(request.getOrderDTO()));
+				orderDetailService.saveDetails(order, quantities);
+				registered.add(CompletableFuture.completedFuture(order));
+			} catch (NotFoundException e) {
+				stockService.releaseStocks(quantities);
+				registered.add(CompletableFuture.failedFuture(e));
+			}
+		}
+		return registered;
+	}
+
+	/**
+	 * Compensa un pedido cuyo pago fue rechazado: devuelve al inventario el stock
+	 * reservado y elimina el pedido con sus detalles.
+	 * 
+	 * @param orderId Identificador del pedido a cancelar.
+	 */
+	@Transactional
+	public void cancelOrder(Integer orderId) {
+		List<OrderDetail> details = orderDetailRepository.findByOrderId(orderId);
+		SortedMap<Integer, Integer> quantities = new TreeMap<>();
+		for (OrderDetail detail : details) {
+			quantities.put(detail.getOrderDetailId().getProduct().getProductId(), detail.getQuantity());
+		}
+		stockService.releaseStocks(quantities);
+		orderDetailRepository.deleteAll(details);
+		orderRepository.deleteById(orderId);
+	}
+
+	/**
+	 * Consulta un pedido con sus productos, en dos consultas de proyección.
+	 * 
+	 * @param orderId Identificador del pedido.
+	 * @return Los datos del pedido y sus productos.
+	 * @throws NotFoundException Si el pedido no existe.
+	 */
+	public OrderSummaryDTO findOrder(Integer orderId) {
+		OrderSummaryDTO order = orderRepository.findSummaryById(orderId)
+				.orElseThrow(() -> new NotFoundException("No existe el pedido " + orderId));
+		order.setDetails(orderDetailRepository.findLinesByOrderId(orderId));
+		return order;
+	}
+
+	/**
+	 * Consulta una página de los pedidos de un cliente.
+	 * 
+	 * Pide un pedido más de los solicitados para saber si hay una página
+	 * siguiente sin hacer otra consulta.
+	 * 
+	 * @param clientId Identificador del cliente.
+	 * @param after    Identificador del último pedido de la página anterior; 0
+	 *                 para la primera página.
+	 * @param size     Cantidad máxima de pedidos de la página.
+	 * @return Los pedidos y el valor de {@code after} para la página siguiente.
 	 */
-	public boolean createOrder(OrderDTO order) {
-		Client client = clientRepository.findById(order.getClientDTO()).get();
-		orderRepository.save(DataMapper.transformOrderDTOToOrder(order, client, order.getPaymentMethod()));
-		return true;
+	public OrderPageDTO findClientOrders(String clientId, int after, int size) {
+		List<OrderSummaryDTO> orders = orderRepository.findPageByClient(clientId, after, Limit.of(size + 1));
+		if (orders.size() <= size) {
+			return new OrderPageDTO(orders, null);
+		}
+		List<OrderSummaryDTO> page = orders.subList(0, size);
+		return new OrderPageDTO(page, page.get(size - 1).getOrderId());
 	}
 }
@@ -0,0 +1,206 @@
+package co.edu.unbosque.electroshopv2.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import co.edu.unbosque.electroshopv2.exception.CardNotValidException;
+import co.edu.unbosque.electroshopv2.model.Order;
+import co.edu.unbosque.electroshopv2.model.OrderDetailDTO;
+import co.edu.unbosque.electroshopv2.model.OrderLineDTO;
+import co.edu.unbosque.electroshopv2.model.OrderResponseDTO;
+import co.edu.unbosque.electroshopv2.model.RequestOrderDTO;
+
+/**
+ * Servicio que coordina el procesamiento completo de un pedido.
+ *
+ * El flujo no abre ninguna transacción propia; se apoya en transacciones
+ * cortas de @linkOrderService que solo contienen trabajo SQL:
+ *
+ * 1. Valida la tarjeta en memoria, sin tocar la base de datos.
+ * 2. Reserva el stock y registra el pedido con sus detalles.
+ * 3. Solicita la autorización del pago sin retener ninguna conexión.
+ * 4. Confirma el pedido, que ya quedó registrado, o lo compensa si la pasarela
+ *    rechaza la compra, devolviendo el stock y eliminando el pedido.
+ *
+ * @author Andres Felipe Espitia Rodriguez
+ * @author Johan Sebastian Gomez Beltran
+ * @author Kevin David Peña Bustos
+ * @author David Esteban López Castillo
+ * @version 2.0
+ */
+@Service
+public class OrderWorkflowService {
+
+	@Autowired
+	private OrderService orderService;
+
+	@Autowired
+	private CardService cardService;
+
+	@Autowired
+	@Qualifier("applicationTaskExecutor")
+	private Executor taskExecutor;
+
+	/**
+	 * Constructor por defecto de la clase OrderWorkflowService.
+	 */
+	public OrderWorkflowService() {
+	}
+
+	/**
+	 * Procesa un pedido de principio a fin.
+	 *
+	 * El trabajo con la base de datos corre en el ejecutor de tareas de la
+	 * aplicación, por lo que el hilo que llama solo valida la tarjeta.
+	 *
+	 * @param requestOrderDTO Solicitud con el pedido, la tarjeta y los detalles.
+	 * @return Futuro con el pedido registrado y el resultado del pago. Se
+	 *         completa con @linkNoEnoughStockException, @linkNotFoundException
+	 *         o @linkCardNotValidException si el pedido no se pudo completar.
+	 * @throws CardNotValidException Si la tarjeta no es válida.
+	 */
+	public CompletableFuture<OrderResponseDTO> processOrder(RequestOrderDTO requestOrderDTO) {
+		cardService.checkCard(requestOrderDTO.getCardDTO());
+
+		return CompletableFuture.supplyAsync(() -> orderService.registerOrder(requestOrderDTO), taskExecutor)
+				.thenCompose(order -> cardService.authorizePayment(requestOrderDTO.getCardDTO())
+						.handleAsync((payment, error) -> error == null ? confirm(order, payment, requestOrderDTO)
+								: compensate(order, error), taskExecutor));
+	}
+
+	/**
+	 * Procesa un lote de pedidos: valida las tarjetas, registra todos los pedidos
+	 * aceptados en una sola transacción, solicita los pagos en paralelo y
+	 * compensa los pedidos rechazados por la pasarela.
+	 *
+	 * Bloquea el hilo que llama hasta que todas las autorizaciones terminan, por
+	 * lo que está pensado para procesos por lotes y no para hilos de Tomcat.
+	 *
+	 * @param requests Solicitudes del lote.
+	 * @return Un futuro ya completado por cada solicitud, en el mismo orden, con el
+	 *         pedido registrado o con la excepción que lo impidió.
+	 */
+	public List<CompletableFuture<OrderResponseDTO>> processOrders(List<RequestOrderDTO> requests) {
+		List<CompletableFuture<OrderResponseDTO>> results = new ArrayList<>(requests.size());
+		List<RequestOrderDTO> accepted = new ArrayList<>(requests.size());
+		for (RequestOrderDTO request : requests) {
+			try {
+				cardService.checkCard(request.getCardDTO());
+				accepted.add(request);
+				results.add(null);
+			} catch (CardNotValidException e) {
+				results.add(CompletableFuture.failedFuture(e));
+			}
+		}
+
+		List<CompletableFuture<Order>> registered = accepted.isEmpty() ? List.of()
+				: orderService.registerOrders(accepted);
+		List<CompletableFuture<Instant>> payments = new ArrayList<>(accepted.size());
+		for (int i = 0; i < accepted.size(); i++) {
+			RequestOrderDTO request = accepted.get(i);
+			payments.add(registered.get(i).thenCompose(order -> cardService.authorizePayment(request.getCardDTO())));
+		}
+
+		int next = 0;
+		for (int i = 0; i < results.size(); i++) {
+			if (results.get(i) == null) {
+				results.set(i, settle(registered.get(next), payments.get(next), accepted.get(next)));
+				next++;
+			}
+		}
+		return results;
+	}
+
+	/**
+	 * Espera el pago de un pedido del lote y lo confirma o lo compensa.
+	 *
+	 * Cualquier error, incluso uno al compensar, queda solo en el resultado de
+	 * este pedido, de modo que los demás pedidos del lote se confirman o se
+	 * compensan igual.
+	 *
+	 * @param registration    Resultado del registro del pedido.
+	 * @param payment         Resultado de la autorización del pago.
+	 * @param requestOrderDTO Solicitud original.
+	 * @return Un futuro ya completado con el pedido registrado o con el error. Si
+	 *         la compensación falla, se completa con ese error y el rechazo del
+	 *         pago queda como excepción suprimida.
+	 */
+	private CompletableFuture<OrderResponseDTO> settle(CompletableFuture<Order> registration,
+			CompletableFuture<Instant> payment, RequestOrderDTO requestOrderDTO) {
+		try {
+			return CompletableFuture.completedFuture(confirm(registration.join(), payment.join(), requestOrderDTO));
+		} catch (CompletionException e) {
+			Throwable cause = e.getCause();
+			if (!registration.isCompletedExceptionally()) {
+				try {
+					orderService.cancelOrder(registration.join().getOrderId());
+				} catch (RuntimeException cancelError) {
+					cancelError.addSuppressed(cause);
+					return CompletableFuture.failedFuture(cancelError);
+				}
+			}
+			return CompletableFuture.failedFuture(cause);
+		} catch (RuntimeException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+	}
+
+	/**
+	 * Arma la respuesta de un pedido aprobado. Las líneas repetidas de un mismo
+	 * producto se suman, igual que al reservar el stock.
+	 *
+	 * @param order           Pedido registrado.
+	 * @param authorizedAt    Momento en que la pasarela aprobó la compra.
+	 * @param requestOrderDTO Solicitud original.
+	 * @return El pedido registrado con el resultado del pago y sus productos.
+	 */
+	private OrderResponseDTO confirm(Order order, Instant authorizedAt, RequestOrderDTO requestOrderDTO) {
+		Map<Integer, Integer> quantities = new LinkedHashMap<>();
+		for (OrderDetailDTO detail : requestOrderDTO.getOrderDetails()) {
+			quantities.merge(detail.getProduct(), detail.getQuantity(), Integer::sum);
+		}
+		List<OrderLineDTO> details = new ArrayList<>(quantities.size());
+		for (Map.Entry<Integer, Integer> line : quantities.entrySet()) {
+			details.add(new OrderLineDTO(line.getKey(), null, line.getValue()));
+		}
+		return new OrderResponseDTO(order.getOrderId(), OrderResponseDTO.APPROVED, authorizedAt, order.getTotalValue(),
+				details);
+	}
+
+	/**
+	 * Cancela el pedido cuyo pago fue rechazado y propaga el rechazo.
+	 *
+	 * @param order Pedido registrado.
+	 * @param error Error con el que terminó la autorización del pago.
+	 * @return Nunca retorna normalmente.
+	 */
+	private OrderResponseDTO compensate(Order order, Throwable error) {
+		orderService.cancelOrder(order.getOrderId());
+		throw error instanceof CompletionException completion ? completion : new CompletionException(error);
+	}
+
+	/**
+	 * Obtiene el código HTTP con el que {@code /api/pedidos/procesar} responde a
+	 * un error, según la anotación @linkResponseStatus de la excepción.
+	 *
+	 * @param error Excepción con la que terminó un pedido.
+	 * @return El código de la anotación, o 500 si la excepción no tiene una.
+	 */
+	public static HttpStatus statusOf(Throwable error) {
+		ResponseStatus status = AnnotationUtils.findAnnotation(error.getClass(), ResponseStatus.class);
+		return status != null ? status.code() : HttpStatus.INTERNAL_SERVER_ERROR;
+	}
+}
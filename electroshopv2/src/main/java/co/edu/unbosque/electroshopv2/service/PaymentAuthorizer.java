@@ -0,0 +1,33 @@
+package co.edu.unbosque.electroshopv2.service;
+
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+
+import co.edu.unbosque.electroshopv2.exception.CardNotValidException;
+import co.edu.unbosque.electroshopv2.model.CardDTO;
+
+/**
+ * Pasarela encargada de autorizar el cobro de una tarjeta.
+ * 
+ * La autorización es asíncrona: quien llama recibe un @linkCompletableFuture
+ * y no debe bloquear un hilo ni mantener una conexión a la base de datos
+ * mientras la pasarela responde.
+ * 
+ * @author Andres Felipe Espitia Rodriguez
+ * @author Johan Sebastian Gomez Beltran
+ * @author Kevin David Peña Bustos
+ * @author David Esteban López Castillo
+ * @version 2.0
+ */
+public interface PaymentAuthorizer {
+
+	/**
+	 * Solicita la autorización del cobro con la tarjeta indicada.
+	 * 
+	 * @param card Tarjeta ya validada en formato.
+	 * @return Futuro que se completa con el momento de la aprobación si la compra
+	 *         fue aprobada, o de forma excepcional con @linkCardNotValidException
+	 *         si fue rechazada.
+	 */
+	CompletableFuture<Instant> authorize(CardDTO card);
+}
@@ -0,0 +1,166 @@
+package co.edu.unbosque.electroshopv2.service;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import co.edu.unbosque.electroshopv2.exception.InvalidQuantityException;
+import co.edu.unbosque.electroshopv2.exception.NotFoundException;
+import co.edu.unbosque.electroshopv2.exception.TotalMismatchException;
+import co.edu.unbosque.electroshopv2.model.OrderDetailDTO;
+import co.edu.unbosque.electroshopv2.model.ProductChangedEvent;
+import co.edu.unbosque.electroshopv2.model.RequestOrderDTO;
+import co.edu.unbosque.electroshopv2.repository.ProductRepository;
+
+/**
+ * Tabla en memoria con el precio de cada producto, usada para calcular el valor
+ * total de los pedidos en el servidor.
+ *
+ * Los precios se guardan en un {@code long[]} indexado por el identificador del
+ * producto, en la misma unidad que {@code precio_producto}, por lo que valorar
+ * un pedido es una lectura del arreglo por línea, sin cargar entidades ni
+ * consultar la base de datos. El arreglo nunca se modifica: cada cambio publica
+ * una copia, y las lecturas no toman bloqueos.
+ *
+ * La tabla se carga al arrancar y se actualiza cuando se confirma una
+ * transacción que crea, modifica o elimina un producto. Un producto que todavía
+ * no está en la tabla se busca en productos la primera vez que se pide.
+ *
+ * @author Andres Felipe Espitia Rodriguez
+ * @author Johan Sebastian Gomez Beltran
+ * @author Kevin David Peña Bustos
+ * @author David Esteban López Castillo
+ * @version 2.0
+ */
+@Service
+public class PriceTable {
+
+	/** Valor de las posiciones que no corresponden a un producto con precio. */
+	private static final long NO_PRICE = -1;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	private volatile long[] prices = {};
+
+	/**
+	 * Constructor por defecto de la clase PriceTable.
+	 */
+	public PriceTable() {
+	}
+
+	/**
+	 * Carga el precio de todos los productos y reemplaza la tabla actual.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public synchronized void load() {
+		List<Object[]> rows = productRepository.findAllPrices();
+		int size = 0;
+		for (Object[] row : rows) {
+			size = Math.max(size, (Integer) row[0] + 1);
+		}
+		long[] loaded = new long[size];
+		Arrays.fill(loaded, NO_PRICE);
+		for (Object[] row : rows) {
+			if (row[1] != null) {
+				loaded[(Integer) row[0]] = (Long) row[1];
+			}
+		}
+		prices = loaded;
+	}
+
+	/**
+	 * Actualiza el precio de un producto cuando se confirma su cambio. Los cambios
+	 * de categoría no afectan los precios.
+	 *
+	 * @param event Evento con el producto modificado.
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProductChanged(ProductChangedEvent event) {
+		if (!event.affectsAllProducts()) {
+			put(event.getProductId(), productRepository.findValueById(event.getProductId()).orElse(NO_PRICE));
+		}
+	}
+
+	/**
+	 * Calcula el valor total de un pedido y lo compara con el que envió el
+	 * cliente. Si el pedido no trae valor total, se le asigna el calculado.
+	 *
+	 * @param requestOrderDTO Solicitud con el pedido y sus detalles.
+	 * @return El valor total calculado.
+	 * @throws InvalidQuantityException Si alguna línea no trae cantidad o trae
+	 *                                  una menor que uno.
+	 * @throws NotFoundException        Si alguno de los productos no existe.
+	 * @throws TotalMismatchException   Si el valor enviado no coincide con el
+	 *                                  calculado o si el calculado no cabe en un
+	 *                                  {@code long}.
+	 */
+	public long checkTotal(RequestOrderDTO requestOrderDTO) {
+		long total = 0;
+		for (OrderDetailDTO detail : requestOrderDTO.getOrderDetails()) {
+			Integer quantity = detail.getQuantity();
+			if (quantity == null || quantity < 1) {
+				throw new InvalidQuantityException(
+						"La cantidad del producto " + detail.getProduct() + " debe ser al menos 1");
+			}
+			try {
+				total = Math.addExact(total, Math.multiplyExact(priceOf(detail.getProduct()), (long) quantity));
+			} catch (ArithmeticException e) {
+				throw new TotalMismatchException("El valor total del pedido es demasiado grande");
+			}
+		}
+		Long requested = requestOrderDTO.getOrderDTO().getTotalValue();
+		if (requested == null) {
+			requestOrderDTO.getOrderDTO().setTotalValue(total);
+		} else if (requested != total) {
+			throw new TotalMismatchException(
+					"El valor total del pedido (" + requested + ") no coincide con el de sus productos (" + total + ")");
+		}
+		return total;
+	}
+
+	/**
+	 * Obtiene el precio de un producto, cargándolo desde la tabla productos si el
+	 * producto se creó después del arranque.
+	 *
+	 * @param productId Identificador del producto.
+	 * @return El precio del producto.
+	 * @throws NotFoundException Si el producto no existe o no tiene precio.
+	 */
+	private long priceOf(Integer productId) {
+		if (productId == null || productId < 0) {
+			throw new NotFoundException("No existe el producto " + productId);
+		}
+		long[] current = prices;
+		if (productId < current.length && current[productId] != NO_PRICE) {
+			return current[productId];
+		}
+		long price = productRepository.findValueById(productId)
+				.orElseThrow(() -> new NotFoundException("No existe el producto " + productId));
+		put(productId, price);
+		return price;
+	}
+
+	/**
+	 * Publica una copia de la tabla con el precio de un producto cambiado.
+	 *
+	 * @param productId Identificador del producto.
+	 * @param price     Nuevo precio, o {@link #NO_PRICE} si el producto ya no
+	 *                  existe.
+	 */
+	private synchronized void put(Integer productId, long price) {
+		long[] current = prices;
+		if (productId >= current.length && price == NO_PRICE) {
+			return;
+		}
+		long[] updated = Arrays.copyOf(current, Math.max(current.length, productId + 1));
+		Arrays.fill(updated, current.length, updated.length, NO_PRICE);
+		updated[productId] = price;
+		prices = updated;
+	}
+}
@@ -0,0 +1,201 @@
+package co.edu.unbosque.electroshopv2.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+import co.edu.unbosque.electroshopv2.model.CatalogProductDTO;
+
+/**
+ * Índice invertido inmutable sobre el nombre de los productos y el de su
+ * categoría.
+ *
+ * Cada palabra, en minúsculas y sin tildes, apunta a los identificadores
+ * ordenados de los productos que la contienen. Las palabras se guardan en un
+ * mapa ordenado, así que todas las que empiezan por un prefijo quedan en un
+ * rango contiguo: "parl bose" encuentra "Parlante BOSE SoundLink" sin recorrer
+ * el catálogo. Un producto aparece en el resultado si cada palabra de la
+ * búsqueda es prefijo de alguna de sus palabras.
+ *
+ * Como @linkCatalogSnapshot, nunca se modifica: un cambio produce una copia
+ * que comparte las listas de las palabras que no se tocaron.
+ *
+ * @author Andres Felipe Espitia Rodriguez
+ * @author Johan Sebastian Gomez Beltran
+ * @author Kevin David Peña Bustos
+ * @author David Esteban López Castillo
+ * @version 2.0
+ */
+public final class ProductSearchIndex {
+
+	/** Índice sin productos. */
+	public static final ProductSearchIndex EMPTY = new ProductSearchIndex(new TreeMap<>());
+
+	private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+	private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+	private static final int[] NO_PRODUCTS = {};
+
+	private final NavigableMap<String, int[]> postings;
+
+	/**
+	 * @param postings Identificadores ordenados de los productos por palabra; el
+	 *                 índice se queda con el mapa.
+	 */
+	private ProductSearchIndex(TreeMap<String, int[]> postings) {
+		this.postings = Collections.unmodifiableNavigableMap(postings);
+	}
+
+	/**
+	 * @param products Productos a indexar.
+	 * @return Un índice con esos productos.
+	 */
+	public static ProductSearchIndex of(Collection<CatalogProductDTO> products) {
+		return EMPTY.with(List.of(), products);
+	}
+
+	/**
+	 * Separa un texto en palabras en minúsculas y sin tildes.
+	 *
+	 * @param text Texto a separar; puede ser {@code null}.
+	 * @return Las palabras del texto, sin repetir y en el orden en que aparecen.
+	 */
+	public static Set<String> tokens(String text) {
+		Set<String> tokens = new LinkedHashSet<>();
+		if (text == null) {
+			return tokens;
+		}
+		String plain = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+		for (String token : SEPARATORS.split(plain.toLowerCase(Locale.ROOT))) {
+			if (!token.isEmpty()) {
+				tokens.add(token);
+			}
+		}
+		return tokens;
+	}
+
+	/**
+	 * @param removed Versiones anteriores de los productos que se eliminaron o
+	 *                cambiaron de nombre o de categoría.
+	 * @param added   Versiones nuevas de los productos que se agregaron o
+	 *                cambiaron de nombre o de categoría.
+	 * @return Un índice con los cambios aplicados, o este mismo si no hay cambios.
+	 */
+	public ProductSearchIndex with(Collection<CatalogProductDTO> removed, Collection<CatalogProductDTO> added) {
+		if (removed.isEmpty() && added.isEmpty()) {
+			return this;
+		}
+		Map<String, Change> changes = new HashMap<>();
+		for (CatalogProductDTO product : removed) {
+			for (String token : tokensOf(product)) {
+				changes.computeIfAbsent(token, t -> new Change()).removed.add(product.getProductId());
+			}
+		}
+		for (CatalogProductDTO product : added) {
+			for (String token : tokensOf(product)) {
+				changes.computeIfAbsent(token, t -> new Change()).added.add(product.getProductId());
+			}
+		}
+
+		TreeMap<String, int[]> updated = new TreeMap<>(postings);
+		for (Map.Entry<String, Change> entry : changes.entrySet()) {
+			int[] ids = entry.getValue().applyTo(updated.getOrDefault(entry.getKey(), NO_PRODUCTS));
+			if (ids.length == 0) {
+				updated.remove(entry.getKey());
+			} else {
+				updated.put(entry.getKey(), ids);
+			}
+		}
+		return new ProductSearchIndex(updated);
+	}
+
+	/**
+	 * Busca los productos que tienen, para cada palabra de la búsqueda, alguna
+	 * palabra que empieza por ella.
+	 *
+	 * @param query Texto buscado.
+	 * @param limit Cantidad máxima de resultados.
+	 * @return Identificadores de los productos encontrados, de menor a mayor;
+	 *         vacío si la búsqueda no tiene palabras.
+	 */
+	public List<Integer> search(String query, int limit) {
+		BitSet matches = null;
+		for (String token : tokens(query)) {
+			BitSet tokenMatches = new BitSet();
+			for (int[] ids : postings.subMap(token, true, token + Character.MAX_VALUE, false).values()) {
+				for (int id : ids) {
+					tokenMatches.set(id);
+				}
+			}
+			if (matches == null) {
+				matches = tokenMatches;
+			} else {
+				matches.and(tokenMatches);
+			}
+			if (matches.isEmpty()) {
+				break;
+			}
+		}
+		List<Integer> result = new ArrayList<>();
+		if (matches == null) {
+			return result;
+		}
+		for (int id = matches.nextSetBit(0); id >= 0 && result.size() < limit; id = matches.nextSetBit(id + 1)) {
+			result.add(id);
+		}
+		return result;
+	}
+
+	/**
+	 * @param product Producto del catálogo.
+	 * @return Las palabras de su nombre y de su categoría.
+	 */
+	private static Set<String> tokensOf(CatalogProductDTO product) {
+		Set<String> tokens = tokens(product.getName());
+		tokens.addAll(tokens(product.getCategoryName()));
+		return tokens;
+	}
+
+	/**
+	 * Productos que entran y salen de la lista de una palabra.
+	 */
+	private static final class Change {
+
+		private final Set<Integer> removed = new HashSet<>();
+
+		private final Set<Integer> added = new HashSet<>();
+
+		/**
+		 * @param ids Identificadores ordenados que tenía la palabra.
+		 * @return Una lista nueva y ordenada con el cambio aplicado.
+		 */
+		private int[] applyTo(int[] ids) {
+			int[] result = new int[ids.length + added.size()];
+			int size = 0;
+			for (int id : ids) {
+				if (!removed.contains(id) && !added.contains(id)) {
+					result[size++] = id;
+				}
+			}
+			for (int id : added) {
+				result[size++] = id;
+			}
+			Arrays.sort(result, 0, size);
+			return Arrays.copyOf(result, size);
+		}
+	}
+}
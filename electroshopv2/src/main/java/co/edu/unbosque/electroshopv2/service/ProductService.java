@@ -0,0 +1,138 @@
+package co.edu.unbosque.electroshopv2.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import co.edu.unbosque.electroshopv2.exception.NotFoundException;
+import co.edu.unbosque.electroshopv2.model.Product;
+import co.edu.unbosque.electroshopv2.model.ProductChangedEvent;
+import co.edu.unbosque.electroshopv2.model.ProductDTO;
+import co.edu.unbosque.electroshopv2.repository.ProductRepository;
+import jakarta.transaction.Transactional;
+
+/**
+ * Servicio de consulta de productos con caché de lectura.
+ * 
+ * Los productos y sus categorías casi no cambian, por lo que se guardan como
+ * @linkProductDTO en la caché {@code productos}. Su tamaño máximo, tiempo de
+ * vida y registro de aciertos se configuran con
+ * {@code spring.cache.caffeine.spec}. Las entradas se invalidan cuando se
+ * confirma una transacción que modificó el producto o una categoría.
+ * 
+ * @author Andres Felipe Espitia Rodriguez
+ * @author Johan Sebastian Gomez Beltran
+ * @author Kevin David Peña Bustos
+ * @author David Esteban López Castillo
+ * @version 2.0
+ */
+@Service
+public class ProductService {
+
+	/** Nombre de la caché de productos. */
+	public static final String PRODUCT_CACHE = "productos";
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	/**
+	 * Constructor por defecto de la clase ProductService.
+	 */
+	public ProductService() {
+	}
+
+	/**
+	 * Busca un producto, primero en la caché y luego en la base de datos.
+	 * 
+	 * @param productId Identificador del producto.
+	 * @return El producto encontrado.
+	 * @throws NotFoundException Si el producto no existe.
+	 */
+	public ProductDTO findProduct(Integer productId) {
+		ProductDTO product = findProducts(List.of(productId)).get(productId);
+		if (product == null) {
+			throw new NotFoundException("No existe el producto " + productId);
+		}
+		return product;
+	}
+
+	/**
+	 * Busca varios productos. Los que no están en caché se cargan con una sola
+	 * consulta y se agregan a la caché.
+	 * 
+	 * @param productIds Identificadores de los productos.
+	 * @return Productos encontrados por identificador; los que no existen no
+	 *         aparecen en el mapa.
+	 */
+	public Map<Integer, ProductDTO> findProducts(Collection<Integer> productIds) {
+		Cache cache = productCache();
+		Map<Integer, ProductDTO> products = new HashMap<>();
+		List<Integer> misses = new ArrayList<>();
+		for (Integer productId : productIds) {
+			ProductDTO cached = cache.get(productId, ProductDTO.class);
+			if (cached != null) {
+				products.put(productId, cached);
+			} else {
+				misses.add(productId);
+			}
+		}
+		if (!misses.isEmpty()) {
+			for (Product product : productRepository.findAllWithCategoryById(misses)) {
+				ProductDTO loaded = DataMapper.transformProductToProductDTO(product);
+				cache.put(product.getProductId(), loaded);
+				products.put(product.getProductId(), loaded);
+			}
+		}
+		return products;
+	}
+
+	/**
+	 * Actualiza el precio de un producto. La caché se invalida al confirmar la
+	 * transacción.
+	 * 
+	 * @param productId Identificador del producto.
+	 * @param value     Nuevo precio del producto.
+	 * @throws NotFoundException Si el producto no existe.
+	 */
+	@Transactional
+	public void updateProductValue(Integer productId, Long value) {
+		Product product = productRepository.findById(productId)
+				.orElseThrow(() -> new NotFoundException("No existe el producto " + productId));
+		product.setValue(value);
+	}
+
+	/**
+	 * Invalida la caché cuando un producto o una categoría cambian.
+	 * 
+	 * Se ejecuta después de confirmar la transacción para que otra petición no
+	 * vuelva a cargar en caché el valor anterior antes del commit.
+	 * 
+	 * @param event Evento con el producto modificado.
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProductChanged(ProductChangedEvent event) {
+		if (event.affectsAllProducts()) {
+			productCache().clear();
+		} else {
+			productCache().evict(event.getProductId());
+		}
+	}
+
+	/**
+	 * @return La caché de productos.
+	 */
+	private Cache productCache() {
+		return cacheManager.getCache(PRODUCT_CACHE);
+	}
+}
@@ -0,0 +1,67 @@
+package co.edu.unbosque.electroshopv2.service;
+
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import co.edu.unbosque.electroshopv2.exception.CardNotValidException;
+import co.edu.unbosque.electroshopv2.model.CardDTO;
+
+/**
+ * Pasarela de pagos simulada localmente.
+ * 
+ * Reemplaza el antiguo {@code Thread.sleep} de @linkCardService: la latencia se
+ * simula con un temporizador, por lo que ningún hilo queda bloqueado mientras
+ * la compra está en curso. La respuesta se arma en el mismo hilo del
+ * temporizador: es un trabajo mínimo y así no depende del pool común, que en
+ * máquinas de un solo núcleo crea un hilo nuevo por tarea. La latencia y la
+ * tasa de rechazo se configuran con las propiedades
+ * {@code electroshop.payment.latency-ms} y
+ * {@code electroshop.payment.failure-rate}.
+ * 
+ * @author Andres Felipe Espitia Rodriguez
+ * @author Johan Sebastian Gomez Beltran
+ * @author Kevin David Peña Bustos
+ * @author David Esteban López Castillo
+ * @version 2.0
+ */
+@Service
+public class SimulatedPaymentAuthorizer implements PaymentAuthorizer {
+
+	private final Executor gatewayDelay;
+
+	private final double failureRate;
+
+	/**
+	 * Crea la pasarela simulada.
+	 * 
+	 * @param latencyMs   Milisegundos que tarda la pasarela en responder.
+	 * @param failureRate Probabilidad, entre 0 y 1, de que una compra sea rechazada.
+	 */
+	public SimulatedPaymentAuthorizer(@Value("${electroshop.payment.latency-ms:30}") long latencyMs,
+			@Value("${electroshop.payment.failure-rate:0}") double failureRate) {
+		if (latencyMs < 0) {
+			throw new IllegalArgumentException("La latencia de la pasarela no puede ser negativa");
+		}
+		if (failureRate < 0 || failureRate > 1) {
+			throw new IllegalArgumentException("La tasa de rechazo debe estar entre 0 y 1");
+		}
+		this.gatewayDelay = CompletableFuture.delayedExecutor(latencyMs, TimeUnit.MILLISECONDS, Runnable::run);
+		this.failureRate = failureRate;
+	}
+
+	@Override
+	public CompletableFuture<Instant> authorize(CardDTO card) {
+		return CompletableFuture.supplyAsync(() -> {
+			if (failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate) {
+				throw new CardNotValidException("Compra rechazada por la pasarela");
+			}
+			return Instant.now();
+		}, gatewayDelay);
+	}
+}
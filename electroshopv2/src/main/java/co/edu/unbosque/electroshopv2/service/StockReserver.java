@@ -0,0 +1,38 @@
+package co.edu.unbosque.electroshopv2.service;
+
+import java.util.List;
+import java.util.SortedMap;
+
+/**
+ * Estrategia con la que @linkStockService reserva y devuelve inventario.
+ * 
+ * La implementación activa se elige con la propiedad
+ * {@code electroshop.stock.mode}.
+ * 
+ * @author Andres Felipe Espitia Rodriguez
+ * @author Johan Sebastian Gomez Beltran
+ * @author Kevin David Peña Bustos
+ * @author David Esteban López Castillo
+ * @version 2.0
+ */
+public interface StockReserver {
+
+	/**
+	 * Reserva el inventario de varios productos.
+	 * 
+	 * Cada producto se reserva por separado: las reservas que sí se aplicaron no
+	 * se deshacen si otro producto no tenía stock suficiente.
+	 * 
+	 * @param quantities Cantidad a descontar por identificador de producto.
+	 * @return Identificadores de los productos que no tenían stock suficiente;
+	 *         vacío si todas las reservas se aplicaron.
+	 */
+	List<Integer> reserve(SortedMap<Integer, Integer> quantities);
+
+	/**
+	 * Devuelve al inventario cantidades reservadas antes.
+	 * 
+	 * @param quantities Cantidad a devolver por identificador de producto.
+	 */
+	void release(SortedMap<Integer, Integer> quantities);
+}
@@ -0,0 +1,73 @@
+package co.edu.unbosque.electroshopv2.service;
+
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Servicio encargado de reservar el inventario de los productos.
+ * 
+ * Delega en el @linkStockReserver configurado con
+ * {@code electroshop.stock.mode}: actualizaciones condicionales sobre la tabla
+ * inventarios ({@code database}, por defecto) o un libro de inventario en
+ * memoria que se escribe en la tabla de forma periódica ({@code ledger}).
+ * 
+ * @author Andres Felipe Espitia Rodriguez
+ * @author Johan Sebastian Gomez Beltran
+ * @author Kevin David Peña Bustos
+ * @author David Esteban López Castillo
+ * @version 2.0
+ */
+@Service
+public class StockService {
+
+	@Autowired
+	private StockReserver stockReserver;
+
+	/**
+	 * Constructor por defecto de la clase StockService.
+	 */
+	public StockService() {
+	}
+
+	/**
+	 * Reserva la cantidad solicitada del inventario de un producto.
+	 * 
+	 * @param productId Identificador del producto a reservar.
+	 * @param quantity  Cantidad a descontar del inventario.
+	 * @return {@code true} si había stock suficiente y se descontó,
+	 *         {@code false} en caso contrario.
+	 */
+	public boolean reserveStock(Integer productId, Integer quantity) {
+		SortedMap<Integer, Integer> quantities = new TreeMap<>();
+		quantities.put(productId, quantity);
+		return stockReserver.reserve(quantities).isEmpty();
+	}
+
+	/**
+	 * Reserva el inventario de varios productos.
+	 * 
+	 * Las reservas que sí se aplicaron no se revierten aquí: quien llama debe
+	 * devolverlas con {@link #releaseStocks(SortedMap)} o abortar su transacción
+	 * si algún producto no tenía stock suficiente.
+	 * 
+	 * @param quantities Cantidad a descontar por identificador de producto.
+	 * @return Identificadores de los productos que no tenían stock suficiente;
+	 *         vacío si todas las reservas se aplicaron.
+	 */
+	public List<Integer> reserveStocks(SortedMap<Integer, Integer> quantities) {
+		return stockReserver.reserve(quantities);
+	}
+
+	/**
+	 * Devuelve al inventario las cantidades de un pedido que fue cancelado.
+	 * 
+	 * @param quantities Cantidad a devolver por identificador de producto.
+	 */
+	public void releaseStocks(SortedMap<Integer, Integer> quantities) {
+		stockReserver.release(quantities);
+	}
+}
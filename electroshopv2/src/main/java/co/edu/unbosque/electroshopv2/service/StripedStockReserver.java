@@ -0,0 +1,156 @@
+package co.edu.unbosque.electroshopv2.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import co.edu.unbosque.electroshopv2.repository.StockRepository;
+import jakarta.transaction.Transactional;
+
+/**
+ * Reserva el inventario repartido en franjas ({@code electroshop.stock.mode=striped}).
+ *
+ * La cantidad de cada producto vendido se reparte entre
+ * {@code electroshop.stock.stripes} filas de inventarios_franjas, así los
+ * pedidos concurrentes de un mismo producto bloquean filas distintas. Cada
+ * reserva prueba una franja al azar; si no alcanza, prueba las vecinas que según
+ * una lectura sin bloqueo tienen stock suficiente, y luego la fila de
+ * inventarios. Si ninguna fila alcanza sola, la cantidad se reparte entre las
+ * franjas y la fila de inventarios, y si entre todas no alcanza, lo descontado
+ * se devuelve. Las devoluciones van a la fila de inventarios.
+ *
+ * Una tarea periódica vuelve a repartir el inventario de los productos que se
+ * movieron desde la última pasada, y crea sus franjas la primera vez.
+ *
+ * @author Andres Felipe Espitia Rodriguez
+ * @author Johan Sebastian Gomez Beltran
+ * @author Kevin David Peña Bustos
+ * @author David Esteban López Castillo
+ * @version 2.0
+ */
+@Service
+@ConditionalOnProperty(name = "electroshop.stock.mode", havingValue = "striped")
+public class StripedStockReserver implements StockReserver {
+
+	@Autowired
+	private StockRepository stockRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Value("${electroshop.stock.stripes:8}")
+	private int stripes;
+
+	private final Set<Integer> touched = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Constructor por defecto de la clase StripedStockReserver.
+	 */
+	public StripedStockReserver() {
+	}
+
+	@Override
+	@Transactional
+	public List<Integer> reserve(SortedMap<Integer, Integer> quantities) {
+		List<Integer> rejected = new ArrayList<>();
+		for (Map.Entry<Integer, Integer> line : quantities.entrySet()) {
+			touched.add(line.getKey());
+			if (!reserve(line.getKey(), line.getValue())) {
+				rejected.add(line.getKey());
+			}
+		}
+		return rejected;
+	}
+
+	@Override
+	@Transactional
+	public void release(SortedMap<Integer, Integer> quantities) {
+		touched.addAll(quantities.keySet());
+		stockRepository.releaseStockBatch(quantities);
+	}
+
+	/**
+	 * Reparte de nuevo el inventario de los productos movidos desde la última
+	 * pasada, cada uno en su propia transacción. Los que tenían filas bloqueadas
+	 * quedan para la siguiente pasada.
+	 */
+	@Scheduled(fixedDelayString = "${electroshop.stock.rebalance-interval-ms:1000}")
+	public void rebalance() {
+		for (Integer productId : List.copyOf(touched)) {
+			touched.remove(productId);
+			Boolean done = transactionTemplate.execute(status -> stockRepository.rebalanceStripes(productId, stripes));
+			if (!Boolean.TRUE.equals(done)) {
+				touched.add(productId);
+			}
+		}
+	}
+
+	/**
+	 * @param productId Identificador del producto.
+	 * @param quantity  Cantidad a reservar.
+	 * @return {@code true} si el stock de las franjas y la fila de inventarios
+	 *         alcanzaba y se descontó.
+	 */
+	private boolean reserve(Integer productId, int quantity) {
+		int first = ThreadLocalRandom.current().nextInt(stripes);
+		if (stockRepository.reserveFromStripe(productId, first, quantity) == 1) {
+			return true;
+		}
+		int[] available = stockRepository.findStripeQuantities(productId, stripes);
+		for (int offset = 1; offset < stripes; offset++) {
+			int stripe = (first + offset) % stripes;
+			if (available[stripe] >= quantity && stockRepository.reserveFromStripe(productId, stripe, quantity) == 1) {
+				return true;
+			}
+		}
+		if (stockRepository.reserveStock(productId, quantity) == 1) {
+			return true;
+		}
+		return reserveAcrossStripes(productId, quantity, available);
+	}
+
+	/**
+	 * Descuenta una cantidad que ninguna fila cubre sola, tomando lo que tenga
+	 * cada franja, en orden, y por último la fila de inventarios. Si no alcanza,
+	 * lo descontado vuelve a la fila de inventarios en la misma transacción.
+	 *
+	 * @param productId Identificador del producto.
+	 * @param quantity  Cantidad a reservar.
+	 * @param available Cantidad de cada franja según una lectura sin bloqueo.
+	 * @return {@code true} si se descontó la cantidad completa.
+	 */
+	private boolean reserveAcrossStripes(Integer productId, int quantity, int[] available) {
+		int remaining = quantity;
+		for (int stripe = 0; stripe < stripes && remaining > 0; stripe++) {
+			int part = Math.min(available[stripe], remaining);
+			if (part > 0 && stockRepository.reserveFromStripe(productId, stripe, part) == 1) {
+				remaining -= part;
+			}
+		}
+		if (remaining > 0) {
+			int part = Math.min(stockRepository.findQuantity(productId).orElse(0), remaining);
+			if (part > 0 && stockRepository.reserveStock(productId, part) == 1) {
+				remaining -= part;
+			}
+		}
+		if (remaining == 0) {
+			return true;
+		}
+		if (remaining < quantity) {
+			stockRepository.releaseStockBatch(new TreeMap<>(Map.of(productId, quantity - remaining)));
+		}
+		return false;
+	}
+}
@@ -0,0 +1,58 @@
+-- Esquema original de Script_ElectroShop.sql. Las bases que ya se crearon con
+-- el script se marcan en esta versión sin ejecutarla (baseline-on-migrate).
+
+CREATE TABLE categorias_producto (
+  id_categoria_producto INT AUTO_INCREMENT,
+  nombre_producto VARCHAR(50) NOT NULL,
+  PRIMARY KEY (id_categoria_producto)
+);
+
+CREATE TABLE productos (
+  id_producto INT AUTO_INCREMENT,
+  nom_producto VARCHAR(255) NOT NULL,
+  precio_producto BIGINT NOT NULL,
+  id_categoria INT NOT NULL,
+  PRIMARY KEY (id_producto),
+  FOREIGN KEY (id_categoria) REFERENCES categorias_producto(id_categoria_producto)
+);
+
+CREATE TABLE inventarios (
+  id_stock INT AUTO_INCREMENT,
+  id_producto INT NOT NULL,
+  cantidad_stock INT NOT NULL,
+  PRIMARY KEY (id_stock),
+  FOREIGN KEY (id_producto) REFERENCES productos(id_producto)
+);
+
+CREATE TABLE clientes (
+  id_cliente VARCHAR(255) NOT NULL,
+  nom_cliente VARCHAR(50) NOT NULL,
+  edad_cliente INT,
+  direccion VARCHAR(255),
+  PRIMARY KEY (id_cliente)
+);
+
+CREATE TABLE metodos_pago (
+  id_met_pago INT AUTO_INCREMENT,
+  nom_metodo_pago VARCHAR(50) NOT NULL,
+  PRIMARY KEY (id_met_pago)
+);
+
+CREATE TABLE pedidos (
+  id_pedido INT AUTO_INCREMENT,
+  id_cliente VARCHAR(255) NOT NULL,
+  id_met_pago INT,
+  valor_total BIGINT,
+  PRIMARY KEY (id_pedido),
+  FOREIGN KEY (id_cliente) REFERENCES clientes(id_cliente),
+  FOREIGN KEY (id_met_pago) REFERENCES metodos_pago(id_met_pago)
+);
+
+CREATE TABLE detalles_pedido (
+  id_pedido INT,
+  id_producto INT,
+  cantidad_producto_pedido INT,
+  PRIMARY KEY (id_pedido, id_producto),
+  FOREIGN KEY (id_pedido) REFERENCES pedidos(id_pedido),
+  FOREIGN KEY (id_producto) REFERENCES productos(id_producto)
+);
@@ -0,0 +1,7 @@
+-- Pedidos de un cliente y detalles que incluyen un producto. InnoDB ya crea un
+-- índice implícito por cada llave foránea y lo descarta al existir uno explícito
+-- que le sirva, así que estos reemplazan a los implícitos con un nombre estable.
+
+CREATE INDEX idx_pedidos_cliente ON pedidos (id_cliente);
+
+CREATE INDEX idx_detalles_pedido_producto ON detalles_pedido (id_producto);
@@ -0,0 +1,21 @@
+-- Tablas que antes creaba ddl-auto=update; IF NOT EXISTS para las bases donde
+-- ya existen.
+
+CREATE TABLE IF NOT EXISTS claves_idempotencia (
+  id_clave VARCHAR(100) NOT NULL,
+  codigo_estado INT NOT NULL,
+  respuesta TEXT,
+  fecha_creacion DATETIME(6) NOT NULL,
+  PRIMARY KEY (id_clave),
+  INDEX idx_claves_idempotencia_fecha (fecha_creacion)
+);
+
+CREATE TABLE IF NOT EXISTS inventarios_franjas (
+  id_franja INT NOT NULL AUTO_INCREMENT,
+  id_producto INT NOT NULL,
+  num_franja INT NOT NULL,
+  cantidad_stock INT NOT NULL,
+  PRIMARY KEY (id_franja),
+  UNIQUE KEY uk_inventarios_franjas (id_producto, num_franja),
+  FOREIGN KEY (id_producto) REFERENCES productos(id_producto)
+);
@@ -2,8 +2,12 @@ package co.edu.unbosque.electroshopv1;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
 
-@SpringBootTest
+import co.edu.unbosque.electroshopv2.Electroshopv1Application;
+
+@SpringBootTest(classes = Electroshopv1Application.class)
+@ActiveProfiles("test")
 class Electroshopv1ApplicationTests {
 
 	@Test
@@ -0,0 +1,33 @@
+package co.edu.unbosque.electroshopv2;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.jdbc.Sql;
+
+import co.edu.unbosque.electroshopv2.service.ClientDirectory;
+import co.edu.unbosque.electroshopv2.service.PriceTable;
+
+/**
+ * Base de las pruebas que registran pedidos: antes de cada prueba vacía las
+ * tablas, inserta el producto 1 (999900, 10 unidades), el método de pago 1 y el
+ * cliente {@link #CLIENT_ID}, y recarga las tablas en memoria que los validan.
+ */
+@Sql({ "/sql/limpieza.sql", "/sql/pedido.sql" })
+public abstract class OrderTestSupport {
+
+	protected static final String CLIENT_ID = "1234517891";
+
+	protected static final long PRICE = 999900L;
+
+	@Autowired
+	private PriceTable priceTable;
+
+	@Autowired
+	private ClientDirectory clientDirectory;
+
+	@BeforeEach
+	void reloadMemoryTables() {
+		priceTable.load();
+		clientDirectory.load();
+	}
+}
@@ -0,0 +1,30 @@
+package co.edu.unbosque.electroshopv2;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles({ "test", "virtual" })
+class VirtualThreadsProfileTests {
+
+	@Autowired
+	@Qualifier("applicationTaskExecutor")
+	private Executor taskExecutor;
+
+	@Test
+	void orderStagesRunOnVirtualThreads() throws Exception {
+		boolean virtual = CompletableFuture.supplyAsync(() -> Thread.currentThread().isVirtual(), taskExecutor)
+				.get(5, TimeUnit.SECONDS);
+
+		assertTrue(virtual);
+	}
+}
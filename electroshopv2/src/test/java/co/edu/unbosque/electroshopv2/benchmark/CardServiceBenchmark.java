@@ -0,0 +1,58 @@
+package co.edu.unbosque.electroshopv2.benchmark;
+
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import co.edu.unbosque.electroshopv2.model.CardDTO;
+import co.edu.unbosque.electroshopv2.service.CardService;
+import co.edu.unbosque.electroshopv2.service.OrderMetrics;
+import co.edu.unbosque.electroshopv2.service.PaymentAuthorizer;
+
+/**
+ * Mide {@link CardService#validateCard(CardDTO)} con una pasarela que aprueba al
+ * instante, de modo que solo se cuenta el trabajo propio del servicio.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CardServiceBenchmark {
+
+	private final CardDTO card = new CardDTO("4111-1111-1111-1111", "12/30", "123");
+
+	private final CardService cardService = new CardService();
+
+	@Setup
+	public void setUp() {
+		PaymentAuthorizer approveAll = card -> CompletableFuture.completedFuture(Instant.now());
+		ReflectionTestUtils.setField(cardService, "paymentAuthorizer", approveAll);
+		OrderMetrics orderMetrics = new OrderMetrics();
+		ReflectionTestUtils.setField(orderMetrics, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(orderMetrics, "dataSource", new DriverManagerDataSource());
+		ReflectionTestUtils.invokeMethod(orderMetrics, "registerMeters");
+		ReflectionTestUtils.setField(cardService, "orderMetrics", orderMetrics);
+	}
+
+	@Benchmark
+	public Instant validateCard() {
+		return cardService.validateCard(card).join();
+	}
+}
@@ -0,0 +1,67 @@
+package co.edu.unbosque.electroshopv2.benchmark;
+
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.time.Clock;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import co.edu.unbosque.electroshopv2.exception.CardNotValidException;
+import co.edu.unbosque.electroshopv2.model.CardDTO;
+import co.edu.unbosque.electroshopv2.service.CardValidator;
+
+/**
+ * Compara el validador de tarjetas de un solo recorrido contra la validación
+ * anterior basada en {@code String.replace}, {@code String.matches} y
+ * {@code SimpleDateFormat}. Con {@code -prof gc} reporta los bytes asignados por
+ * operación ({@code gc.alloc.rate.norm}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CardValidationBenchmark {
+
+	private final CardDTO card = new CardDTO("4111-1111-1111-1111", "12/30", "123");
+
+	private final CardValidator cardValidator = new CardValidator(Clock.systemDefaultZone());
+
+	@Benchmark
+	public CardDTO singlePass() {
+		cardValidator.validate(card);
+		return card;
+	}
+
+	@Benchmark
+	public String legacy() {
+		if (!card.getNumber().replace("-", "").replace(".", "").replace(" ", "").replace("/", "").replace("\\", "")
+				.matches("\\d+")) {
+			throw new CardNotValidException("Hay caracteres en la tarjeta");
+		}
+		if (card.getNumber().replace("-", "").replace(".", "").replace(" ", "").replace("/", "").replace("\\", "")
+				.length() != 16) {
+			throw new CardNotValidException("Número de tarjeta no válido");
+		}
+		if (!card.getExpiration().replace("-", "").replace(".", "").replace(" ", "").replace("/", "").replace("\\", "")
+				.matches("\\d+")) {
+			throw new CardNotValidException("Hay caracteres en la expiración");
+		}
+		if (!card.getCvc().matches("[0-9]+")) {
+			throw new CardNotValidException("Hay caracteres en el CVC");
+		}
+		DateFormat dateFormat = new SimpleDateFormat("HH:mm:ss");
+		return dateFormat.format(new Date());
+	}
+}
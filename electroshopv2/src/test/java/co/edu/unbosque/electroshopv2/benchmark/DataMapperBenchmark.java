@@ -0,0 +1,56 @@
+package co.edu.unbosque.electroshopv2.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import co.edu.unbosque.electroshopv2.model.Client;
+import co.edu.unbosque.electroshopv2.model.Order;
+import co.edu.unbosque.electroshopv2.model.OrderDTO;
+import co.edu.unbosque.electroshopv2.model.OrderDetail;
+import co.edu.unbosque.electroshopv2.model.OrderDetailDTO;
+import co.edu.unbosque.electroshopv2.model.PaymentMethod;
+import co.edu.unbosque.electroshopv2.model.Product;
+import co.edu.unbosque.electroshopv2.service.DataMapper;
+
+/**
+ * Mide las transformaciones de {@link DataMapper} usadas al registrar un pedido.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataMapperBenchmark {
+
+	private final PaymentMethod paymentMethod = new PaymentMethod("Debito");
+
+	private final Client client = new Client("Nicole", 22, "Calle 11");
+
+	private final OrderDTO orderDTO = new OrderDTO(22, "1234517891", paymentMethod, 2999700L);
+
+	private final OrderDetailDTO orderDetailDTO = new OrderDetailDTO(22, 1, 3);
+
+	private final Order order = new Order(client, paymentMethod, 2999700L);
+
+	private final Product product = new Product("Celular REDMI Note 13 Pro", 999900L, null);
+
+	@Benchmark
+	public Order transformOrderDTOToOrder() {
+		return DataMapper.transformOrderDTOToOrder(orderDTO, client, paymentMethod);
+	}
+
+	@Benchmark
+	public OrderDetail transformOrderDetailDTOToOrderDetail() {
+		return DataMapper.transformOrderDetailDTOToOrderDetail(orderDetailDTO, order, product);
+	}
+}
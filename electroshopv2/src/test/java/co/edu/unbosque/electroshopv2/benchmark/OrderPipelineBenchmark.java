@@ -0,0 +1,103 @@
+package co.edu.unbosque.electroshopv2.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import co.edu.unbosque.electroshopv2.Electroshopv1Application;
+import co.edu.unbosque.electroshopv2.controller.OrderController;
+import co.edu.unbosque.electroshopv2.model.CardDTO;
+import co.edu.unbosque.electroshopv2.model.OrderDTO;
+import co.edu.unbosque.electroshopv2.model.OrderDetailDTO;
+import co.edu.unbosque.electroshopv2.model.PaymentMethod;
+import co.edu.unbosque.electroshopv2.model.RequestOrderDTO;
+import co.edu.unbosque.electroshopv2.service.ClientDirectory;
+
+/**
+ * Mide el flujo completo de {@link OrderController#processAnOrder(RequestOrderDTO)}
+ * contra una base H2 en memoria con el perfil {@code test}: validación de la
+ * tarjeta, autorización (sin latencia simulada) y registro del pedido con sus
+ * detalles.
+ * 
+ * El parámetro {@code existingOrders} precarga la tabla pedidos para comprobar
+ * que la latencia por pedido no crece con el tamaño de la tabla.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderPipelineBenchmark {
+
+	private static final String CLIENT_ID = "1234517891";
+
+	@Param({ "0", "100000" })
+	public int existingOrders;
+
+	private ConfigurableApplicationContext context;
+
+	private OrderController orderController;
+
+	private RequestOrderDTO request;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = new SpringApplicationBuilder(Electroshopv1Application.class).web(WebApplicationType.NONE)
+				.profiles("test")
+				.run("--electroshop.payment.latency-ms=0", "--logging.level.root=WARN",
+						"--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE");
+		orderController = context.getBean(OrderController.class);
+
+		JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+		jdbcTemplate.update("INSERT INTO categorias_producto (id_categoria_producto, nombre_producto) VALUES (1, 'Celulares')");
+		jdbcTemplate.update("INSERT INTO productos (id_producto, nom_producto, precio_producto, id_categoria) VALUES (1, 'Celular REDMI Note 13 Pro', 999900, 1)");
+		jdbcTemplate.update("INSERT INTO productos (id_producto, nom_producto, precio_producto, id_categoria) VALUES (2, 'Cargador APPLE MagSafe', 219000, 1)");
+		jdbcTemplate.update("INSERT INTO inventarios (id_stock, id_producto, cantidad_stock) VALUES (1, 1, 1000000000)");
+		jdbcTemplate.update("INSERT INTO inventarios (id_stock, id_producto, cantidad_stock) VALUES (2, 2, 1000000000)");
+		jdbcTemplate.update("INSERT INTO metodos_pago (id_met_pago, nom_metodo_pago) VALUES (1, 'Debito')");
+		jdbcTemplate.update("INSERT INTO clientes (id_cliente, nom_cliente, edad_cliente, direccion) VALUES (?, 'Nicole', 22, 'Calle 11')", CLIENT_ID);
+		context.getBean(ClientDirectory.class).load();
+
+		List<Object[]> orders = new ArrayList<>(existingOrders);
+		for (int i = 0; i < existingOrders; i++) {
+			orders.add(new Object[] { CLIENT_ID, 1, 999900L });
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO pedidos (id_cliente, id_met_pago, valor_total) VALUES (?, ?, ?)", orders);
+
+		PaymentMethod paymentMethod = new PaymentMethod();
+		paymentMethod.setMethodId(1);
+		request = new RequestOrderDTO(new OrderDTO(null, CLIENT_ID, paymentMethod, 1218900L),
+				new CardDTO("4111111111111111", "12/30", "123"),
+				List.of(new OrderDetailDTO(null, 1, 1), new OrderDetailDTO(null, 2, 1)));
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public ResponseEntity<?> processAnOrder() {
+		return orderController.processAnOrder(request, null).join();
+	}
+}
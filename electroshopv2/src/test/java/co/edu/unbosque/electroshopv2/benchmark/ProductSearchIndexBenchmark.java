@@ -0,0 +1,107 @@
+package co.edu.unbosque.electroshopv2.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import co.edu.unbosque.electroshopv2.model.CatalogProductDTO;
+import co.edu.unbosque.electroshopv2.service.ProductSearchIndex;
+
+/**
+ * Mide la latencia de {@link ProductSearchIndex} sobre un catálogo generado de
+ * {@code products} productos, contra un recorrido de todos los nombres que
+ * equivale a {@code LIKE '%x%'}, y el costo de aplicar el cambio de un solo
+ * producto.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductSearchIndexBenchmark {
+
+	private static final String[] KINDS = { "Celular", "Parlante", "Cámara", "Televisor", "Audífonos", "Portátil",
+			"Tableta", "Reloj", "Consola", "Monitor" };
+
+	private static final String[] BRANDS = { "Samsung", "BOSE", "Sony", "Xiaomi", "REDMI", "JBL", "Lenovo", "LG",
+			"Huawei", "Apple", "Motorola", "Acer" };
+
+	private static final String[] WORDS = { "Pro", "Max", "Ultra", "Lite", "Plus", "Negro", "Blanco", "Azul",
+			"SoundLink", "Flex", "Note", "Galaxy", "Inalámbrico", "Bluetooth", "Gamer", "Mini" };
+
+	@Param({ "100000" })
+	private int products;
+
+	private List<CatalogProductDTO> catalog;
+
+	private ProductSearchIndex index;
+
+	private CatalogProductDTO renamed;
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(42);
+		catalog = new ArrayList<>(products);
+		for (int id = 1; id <= products; id++) {
+			int kind = random.nextInt(KINDS.length);
+			String name = KINDS[kind] + " " + BRANDS[random.nextInt(BRANDS.length)] + " "
+					+ WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " "
+					+ random.nextInt(1000);
+			catalog.add(new CatalogProductDTO(id, name, 999900L, kind, KINDS[kind] + "s", 10));
+		}
+		index = ProductSearchIndex.of(catalog);
+		CatalogProductDTO first = catalog.get(0);
+		renamed = new CatalogProductDTO(first.getProductId(), first.getName() + " Edición Especial", first.getValue(),
+				first.getCategoryId(), first.getCategoryName(), first.getStock());
+	}
+
+	@Benchmark
+	public List<Integer> selectiveQuery() {
+		return index.search("parl bose soundl", 20);
+	}
+
+	@Benchmark
+	public List<Integer> broadQuery() {
+		return index.search("samsung", 20);
+	}
+
+	@Benchmark
+	public List<Integer> singleLetterQuery() {
+		return index.search("c", 20);
+	}
+
+	@Benchmark
+	public List<Integer> likeScan() {
+		List<Integer> result = new ArrayList<>();
+		for (CatalogProductDTO product : catalog) {
+			String name = product.getName().toLowerCase(Locale.ROOT);
+			if (name.contains("parl") && name.contains("bose") && name.contains("soundl")) {
+				result.add(product.getProductId());
+				if (result.size() == 20) {
+					break;
+				}
+			}
+		}
+		return result;
+	}
+
+	@Benchmark
+	public ProductSearchIndex updateOneProduct() {
+		return index.with(List.of(catalog.get(0)), List.of(renamed));
+	}
+}
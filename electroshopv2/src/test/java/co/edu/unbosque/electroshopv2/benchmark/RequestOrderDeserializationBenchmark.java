@@ -0,0 +1,53 @@
+package co.edu.unbosque.electroshopv2.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import co.edu.unbosque.electroshopv2.model.RequestOrderDTO;
+
+/**
+ * Mide la deserialización con Jackson del cuerpo que envía el plan de JMeter a
+ * {@code /api/pedidos/procesar}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestOrderDeserializationBenchmark {
+
+	private static final byte[] REQUEST = """
+			{
+			  "orderDTO": {
+			    "orderId": 22,
+			    "paymentMethod": { "methodId": 1, "name": "Tarjeta", "orders": [] },
+			    "totalValue": 2999700,
+			    "clientDTO": "1234517891"
+			  },
+			  "cardDTO": { "number": "4111111111111111", "expiration": "12/30", "cvc": "123" },
+			  "orderDetails": [ { "order": 1, "product": 1, "quantity": 3 } ]
+			}
+			""".getBytes(StandardCharsets.UTF_8);
+
+	private final ObjectReader reader = new ObjectMapper().readerFor(RequestOrderDTO.class);
+
+	@Benchmark
+	public RequestOrderDTO readRequestOrder() throws IOException {
+		return reader.readValue(REQUEST);
+	}
+}
@@ -0,0 +1,246 @@
+package co.edu.unbosque.electroshopv2.controller;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import co.edu.unbosque.electroshopv2.OrderTestSupport;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+class OrderControllerTests extends OrderTestSupport {
+
+	private static final String ORDER_TEMPLATE = """
+			{
+			  "orderDTO": {
+			    "orderId": 22,
+			    "paymentMethod": { "methodId": 1, "name": "Debito", "orders": [] },
+			    "totalValue": %d,
+			    "clientDTO": "1234517891"
+			  },
+			  "cardDTO": { "number": "%s", "expiration": "12/30", "cvc": "123" },
+			  "orderDetails": [ { "order": 1, "product": 1, "quantity": %d } ]
+			}
+			""";
+
+	private static final String NDJSON_ORDER = ORDER_TEMPLATE.replaceAll("\\s*\n\\s*", "") + "\n";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void processAnOrderRegistersTheOrderOnceThePaymentIsApproved() throws Exception {
+		MvcResult pending = mockMvc.perform(post("/api/pedidos/procesar").contentType(MediaType.APPLICATION_JSON)
+				.content(ORDER_TEMPLATE.formatted(PRICE * 3, "4111111111111111", 3))).andExpect(request().asyncStarted()).andReturn();
+
+		mockMvc.perform(asyncDispatch(pending)).andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+				.andExpect(jsonPath("$.orderId").isNumber())
+				.andExpect(jsonPath("$.paymentStatus").value("APROBADO"))
+				.andExpect(jsonPath("$.authorizedAt").exists())
+				.andExpect(jsonPath("$.totalValue").value(PRICE * 3))
+				.andExpect(jsonPath("$.details[0].productId").value(1))
+				.andExpect(jsonPath("$.details[0].quantity").value(3))
+				.andExpect(jsonPath("$.details[0].name").doesNotExist());
+	}
+
+	@Test
+	void processAnOrderRejectsMalformedCardsWithoutTouchingTheDatabase() throws Exception {
+		mockMvc.perform(post("/api/pedidos/procesar").contentType(MediaType.APPLICATION_JSON)
+				.content(ORDER_TEMPLATE.formatted(PRICE * 3, "4111-1111-1111-111a", 3))).andExpect(status().isPaymentRequired());
+	}
+
+	@Test
+	void processAnOrderReportsConflictWhenStockRunsOut() throws Exception {
+		MvcResult pending = mockMvc.perform(post("/api/pedidos/procesar").contentType(MediaType.APPLICATION_JSON)
+				.content(ORDER_TEMPLATE.formatted(PRICE * 11, "4111111111111111", 11))).andExpect(request().asyncStarted()).andReturn();
+
+		mockMvc.perform(asyncDispatch(pending)).andExpect(status().isConflict());
+	}
+
+	@Test
+	void processAnOrderRejectsATotalThatDoesNotMatchThePrices() throws Exception {
+		MvcResult pending = mockMvc.perform(post("/api/pedidos/procesar").contentType(MediaType.APPLICATION_JSON)
+				.content(ORDER_TEMPLATE.formatted(50000, "4111111111111111", 3))).andExpect(request().asyncStarted()).andReturn();
+
+		mockMvc.perform(asyncDispatch(pending)).andExpect(status().isUnprocessableEntity());
+		mockMvc.perform(post("/api/pedidos/encolar").contentType(MediaType.APPLICATION_JSON)
+				.content(ORDER_TEMPLATE.formatted(50000, "4111111111111111", 3))).andExpect(status().isUnprocessableEntity());
+		assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pedidos", Integer.class));
+		assertEquals(10, jdbcTemplate.queryForObject("SELECT cantidad_stock FROM inventarios WHERE id_producto = 1", Integer.class));
+	}
+
+	@Test
+	void prometheusEndpointExposesStageTimersRejectionsAndPoolSaturation() throws Exception {
+		MvcResult pending = mockMvc.perform(post("/api/pedidos/procesar").contentType(MediaType.APPLICATION_JSON)
+				.content(ORDER_TEMPLATE.formatted(PRICE * 11, "4111111111111111", 11))).andExpect(request().asyncStarted()).andReturn();
+		mockMvc.perform(asyncDispatch(pending)).andExpect(status().isConflict());
+
+		mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isOk())
+				.andExpect(content().string(containsString("electroshop_order_stage_seconds_bucket{stage=\"validateCard\"")))
+				.andExpect(content().string(containsString("electroshop_order_stage_seconds_bucket{stage=\"createOrder\"")))
+				.andExpect(content().string(containsString("electroshop_order_stage_seconds_bucket{stage=\"addDetails\"")))
+				.andExpect(content().string(containsString("electroshop_order_rejections_total{exception=\"NoEnoughStockException\"}")))
+				.andExpect(content().string(containsString("electroshop_order_rejections_total{exception=\"CardNotValidException\"}")))
+				.andExpect(content().string(containsString("electroshop_datasource_saturation")))
+				.andExpect(content().string(containsString("hikaricp_connections_pending")))
+				.andExpect(content().string(containsString("hibernate_second_level_cache_requests_total{entityManagerFactory=\"entityManagerFactory\",region=\"metodos_pago\",result=\"hit\"}")));
+	}
+
+	@Test
+	void processOrdersStreamsOneResultPerLineInInputOrder() throws Exception {
+		String body = NDJSON_ORDER.formatted(PRICE * 3, "4111111111111111", 3) + "{ no es json\n"
+				+ NDJSON_ORDER.formatted(PRICE * 20, "4111111111111111", 20) + "\n"
+				+ NDJSON_ORDER.formatted(PRICE * 1, "4111-1111-1111-111a", 1) + NDJSON_ORDER.formatted(PRICE * 2, "4111111111111111", 2);
+
+		MvcResult pending = mockMvc.perform(post("/api/pedidos/lote").contentType(MediaType.APPLICATION_NDJSON)
+				.content(body)).andExpect(request().asyncStarted()).andReturn();
+
+		String[] results = mockMvc.perform(asyncDispatch(pending)).andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString().split("\n");
+		assertEquals(5, results.length);
+		assertTrue(results[0].startsWith("{\"line\":1,\"status\":200,"));
+		assertTrue(results[1].startsWith("{\"line\":2,\"status\":400,"));
+		assertTrue(results[2].startsWith("{\"line\":3,\"status\":409,"));
+		assertTrue(results[3].startsWith("{\"line\":5,\"status\":402,"));
+		assertTrue(results[4].startsWith("{\"line\":6,\"status\":200,"));
+		assertEquals(5, jdbcTemplate.queryForObject("SELECT cantidad_stock FROM inventarios WHERE id_producto = 1", Integer.class));
+	}
+
+	@Test
+	void processOrdersRejectsOverlongLinesAndKeepsReading() throws Exception {
+		String body = "{\"orderDTO\": \"" + "x".repeat(70000) + "\"}\r\n" + NDJSON_ORDER.formatted(PRICE * 2, "4111111111111111", 2);
+
+		MvcResult pending = mockMvc.perform(post("/api/pedidos/lote").contentType(MediaType.APPLICATION_NDJSON)
+				.content(body)).andExpect(request().asyncStarted()).andReturn();
+
+		String[] results = mockMvc.perform(asyncDispatch(pending)).andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString().split("\n");
+		assertEquals(2, results.length);
+		assertEquals("{\"line\":1,\"status\":400,\"message\":\"El pedido supera los 65536 caracteres\"}", results[0]);
+		assertTrue(results[1].startsWith("{\"line\":2,\"status\":200,"));
+	}
+
+	@Test
+	void retriesWithTheSameIdempotencyKeyReplayTheFirstResponse() throws Exception {
+		String key = UUID.randomUUID().toString();
+		String first = submitWithKey(key);
+		String retry = submitWithKey(key);
+
+		assertEquals(first, retry);
+		assertTrue(first.contains("\"paymentStatus\":\"APROBADO\""), first);
+		assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pedidos", Integer.class));
+		assertEquals(7, jdbcTemplate.queryForObject("SELECT cantidad_stock FROM inventarios WHERE id_producto = 1", Integer.class));
+	}
+
+	@Test
+	void processAnOrderRejectsOversizedIdempotencyKeys() throws Exception {
+		mockMvc.perform(post("/api/pedidos/procesar").contentType(MediaType.APPLICATION_JSON).header("Idempotency-Key", "k".repeat(101))
+				.content(ORDER_TEMPLATE.formatted(PRICE * 3, "4111111111111111", 3))).andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void getOrderReturnsTheOrderWithItsProducts() throws Exception {
+		jdbcTemplate.update("INSERT INTO pedidos (id_pedido, id_cliente, id_met_pago, valor_total) VALUES (7, '1234517891', 1, 2999700)");
+		jdbcTemplate.update("INSERT INTO detalles_pedido (id_pedido, id_producto, cantidad_producto_pedido) VALUES (7, 1, 3)");
+
+		mockMvc.perform(get("/api/pedidos/7")).andExpect(status().isOk())
+				.andExpect(jsonPath("$.clientId").value("1234517891"))
+				.andExpect(jsonPath("$.paymentMethod").value("Debito"))
+				.andExpect(jsonPath("$.details[0].productName").value("Celular REDMI Note 13 Pro"))
+				.andExpect(jsonPath("$.details[0].quantity").value(3));
+		mockMvc.perform(get("/api/pedidos/8")).andExpect(status().isNotFound());
+	}
+
+	@Test
+	void orderReadsRunAFixedNumberOfStatementsPerRequest() throws Exception {
+		jdbcTemplate.update("INSERT INTO productos (id_producto, nom_producto, precio_producto, id_categoria) VALUES (2, 'Raclette KALLEY', 199900, 1)");
+		jdbcTemplate.update("INSERT INTO pedidos (id_pedido, id_cliente, id_met_pago, valor_total) VALUES (7, '1234517891', 1, 3199600)");
+		jdbcTemplate.update("INSERT INTO pedidos (id_pedido, id_cliente, id_met_pago, valor_total) VALUES (8, '1234517891', 1, 999900)");
+		jdbcTemplate.update("INSERT INTO detalles_pedido (id_pedido, id_producto, cantidad_producto_pedido) VALUES (7, 1, 3), (7, 2, 1)");
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		statistics.clear();
+		mockMvc.perform(get("/api/pedidos/7")).andExpect(status().isOk());
+		assertEquals(2, statistics.getPrepareStatementCount());
+
+		statistics.clear();
+		mockMvc.perform(get("/api/pedidos/cliente/1234517891")).andExpect(status().isOk());
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void getClientOrdersPagesByOrderId() throws Exception {
+		jdbcTemplate.update("INSERT INTO clientes (id_cliente, nom_cliente, edad_cliente, direccion) VALUES ('99', 'Otro', 30, 'Calle 1')");
+		for (int id = 1; id <= 5; id++) {
+			jdbcTemplate.update("INSERT INTO pedidos (id_pedido, id_cliente, id_met_pago, valor_total) VALUES (?, ?, NULL, ?)", id,
+					id == 3 ? "99" : "1234517891", id * 1000);
+		}
+
+		mockMvc.perform(get("/api/pedidos/cliente/1234517891").param("limite", "2")).andExpect(status().isOk())
+				.andExpect(jsonPath("$.orders[*].orderId").value(contains(1, 2)))
+				.andExpect(jsonPath("$.orders[0].details").doesNotExist())
+				.andExpect(jsonPath("$.next").value(2));
+		mockMvc.perform(get("/api/pedidos/cliente/1234517891").param("despues", "2").param("limite", "2")).andExpect(status().isOk())
+				.andExpect(jsonPath("$.orders[*].orderId").value(contains(4, 5)))
+				.andExpect(jsonPath("$.next").doesNotExist());
+		mockMvc.perform(get("/api/pedidos/cliente/1234517891").param("limite", "101")).andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void enqueuedOrdersAreAcceptedAndTheirOutcomeCanBePolled() throws Exception {
+		String location = mockMvc.perform(post("/api/pedidos/encolar").contentType(MediaType.APPLICATION_JSON)
+				.content(ORDER_TEMPLATE.formatted(PRICE * 3, "4111111111111111", 3))).andExpect(status().isAccepted())
+				.andExpect(jsonPath("$.status").value("PENDIENTE"))
+				.andExpect(header().string("Location", containsString("/api/pedidos/solicitudes/")))
+				.andReturn().getResponse().getHeader("Location");
+
+		String body = "";
+		for (int attempt = 0; attempt < 100 && !body.contains("COMPLETADO"); attempt++) {
+			Thread.sleep(50);
+			body = mockMvc.perform(get(location)).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+		}
+		assertTrue(body.contains("\"code\":200"), body);
+		assertEquals(7, jdbcTemplate.queryForObject("SELECT cantidad_stock FROM inventarios WHERE id_producto = 1", Integer.class));
+		mockMvc.perform(get("/api/pedidos/solicitudes/desconocido")).andExpect(status().isNotFound());
+	}
+
+	private String submitWithKey(String key) throws Exception {
+		MvcResult pending = mockMvc.perform(post("/api/pedidos/procesar").contentType(MediaType.APPLICATION_JSON).header("Idempotency-Key", key)
+				.content(ORDER_TEMPLATE.formatted(PRICE * 3, "4111111111111111", 3))).andExpect(request().asyncStarted()).andReturn();
+		return mockMvc.perform(asyncDispatch(pending)).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+	}
+}
@@ -0,0 +1,137 @@
+package co.edu.unbosque.electroshopv2.controller;
+
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import co.edu.unbosque.electroshopv2.model.ProductCategory;
+import co.edu.unbosque.electroshopv2.model.ProductChangedEvent;
+import co.edu.unbosque.electroshopv2.service.CatalogService;
+import co.edu.unbosque.electroshopv2.service.ProductService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Sql("/sql/limpieza.sql")
+class ProductControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private CatalogService catalogService;
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate.update("INSERT INTO categorias_producto (id_categoria_producto, nombre_producto) VALUES (1, 'Celulares'), (2, 'Audio')");
+		jdbcTemplate.update("INSERT INTO productos (id_producto, nom_producto, precio_producto, id_categoria) VALUES (1, 'Celular REDMI Note 13 Pro', 999900, 1), (2, 'Parlante BOSE SoundLink Flex Negro', 549900, 2), (3, 'Celular Samsung Galaxy A55', 1599900, 1)");
+		jdbcTemplate.update("INSERT INTO inventarios (id_stock, id_producto, cantidad_stock) VALUES (1, 1, 10), (2, 2, 4)");
+		catalogService.load();
+	}
+
+	@Test
+	void catalogReadsNeverTouchTheDatabase() throws Exception {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		mockMvc.perform(get("/api/productos")).andExpect(status().isOk())
+				.andExpect(jsonPath("$[*].productId", contains(1, 2, 3)));
+		mockMvc.perform(get("/api/productos/1")).andExpect(status().isOk())
+				.andExpect(jsonPath("$.categoryName").value("Celulares"))
+				.andExpect(jsonPath("$.stock").value(10));
+		mockMvc.perform(get("/api/productos/categoria/1")).andExpect(status().isOk())
+				.andExpect(jsonPath("$[*].productId", contains(1, 3)));
+
+		assertEquals(0, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void searchMatchesWordPrefixesIgnoringCaseAndAccents() throws Exception {
+		jdbcTemplate.update("INSERT INTO productos (id_producto, nom_producto, precio_producto, id_categoria) VALUES (4, 'Cámara Sony ZV-E10', 2499900, 2)");
+		catalogService.load();
+
+		mockMvc.perform(get("/api/productos/buscar").param("q", "parl BOSE")).andExpect(status().isOk())
+				.andExpect(jsonPath("$[*].productId", contains(2)));
+		mockMvc.perform(get("/api/productos/buscar").param("q", "camara")).andExpect(status().isOk())
+				.andExpect(jsonPath("$[*].productId", contains(4)));
+		mockMvc.perform(get("/api/productos/buscar").param("q", "celulares").param("limite", "1"))
+				.andExpect(status().isOk()).andExpect(jsonPath("$[*].productId", contains(1)));
+		mockMvc.perform(get("/api/productos/buscar").param("q", "bose samsung")).andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(0));
+	}
+
+	@Test
+	void searchFollowsRenamedProducts() throws Exception {
+		jdbcTemplate.update("UPDATE productos SET nom_producto = 'Parlante JBL Flip 6' WHERE id_producto = 2");
+		catalogService.onProductChanged(new ProductChangedEvent(2));
+
+		mockMvc.perform(get("/api/productos/buscar").param("q", "bose")).andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(0));
+		mockMvc.perform(get("/api/productos/buscar").param("q", "jbl")).andExpect(status().isOk())
+				.andExpect(jsonPath("$[*].productId", contains(2)));
+	}
+
+	@Test
+	void getProductReturnsNotFoundForUnknownProducts() throws Exception {
+		mockMvc.perform(get("/api/productos/404")).andExpect(status().isNotFound());
+		mockMvc.perform(get("/api/productos/categoria/404")).andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(0));
+	}
+
+	@Test
+	void catalogPicksUpProductAndStockChanges() throws Exception {
+		productService.updateProductValue(1, 899900L);
+		jdbcTemplate.update("UPDATE inventarios SET cantidad_stock = 7 WHERE id_producto = 1");
+		catalogService.refreshStock();
+
+		mockMvc.perform(get("/api/productos/1")).andExpect(status().isOk())
+				.andExpect(jsonPath("$.value").value(899900))
+				.andExpect(jsonPath("$.stock").value(7));
+		mockMvc.perform(get("/api/productos/categoria/1")).andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].value").value(899900))
+				.andExpect(jsonPath("$[1].productId").value(3));
+	}
+
+	@Test
+	void catalogPicksUpCategoriesRenamedThroughJpa() throws Exception {
+		transactionTemplate.executeWithoutResult(status -> entityManager.find(ProductCategory.class, 1).setName("Smartphones"));
+
+		mockMvc.perform(get("/api/productos/1")).andExpect(status().isOk())
+				.andExpect(jsonPath("$.categoryName").value("Smartphones"));
+		mockMvc.perform(get("/api/productos/buscar").param("q", "smartph")).andExpect(status().isOk())
+				.andExpect(jsonPath("$[*].productId", contains(1, 3)));
+	}
+}
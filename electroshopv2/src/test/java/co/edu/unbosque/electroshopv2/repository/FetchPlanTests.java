@@ -0,0 +1,95 @@
+package co.edu.unbosque.electroshopv2.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import co.edu.unbosque.electroshopv2.model.Product;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Sql("/sql/limpieza.sql")
+class FetchPlanTests {
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private PaymentMethodRepository paymentMethodRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate.update("INSERT INTO categorias_producto (id_categoria_producto, nombre_producto) VALUES (1, 'Celulares'), (2, 'Audio')");
+		for (int id = 1; id <= 3; id++) {
+			jdbcTemplate.update("INSERT INTO productos (id_producto, nom_producto, precio_producto, id_categoria) VALUES (?, ?, 1000, ?)", id,
+					"Producto " + id, id == 3 ? 2 : 1);
+			jdbcTemplate.update("INSERT INTO inventarios (id_stock, id_producto, cantidad_stock) VALUES (?, ?, 10)", id, id);
+		}
+		jdbcTemplate.update("INSERT INTO metodos_pago (id_met_pago, nom_metodo_pago) VALUES (1, 'Debito')");
+		jdbcTemplate.update("INSERT INTO clientes (id_cliente, nom_cliente, edad_cliente, direccion) VALUES ('1234517891', 'Nicole', 22, 'Calle 11')");
+		jdbcTemplate.update("INSERT INTO pedidos (id_pedido, id_cliente, id_met_pago, valor_total) VALUES (1, '1234517891', 1, 3000)");
+		jdbcTemplate.update("INSERT INTO detalles_pedido (id_pedido, id_producto, cantidad_producto_pedido) VALUES (1, 1, 1), (1, 2, 1), (1, 3, 1)");
+
+		entityManagerFactory.getCache().evictAll();
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	void findAllFansOutIntoOneStockQueryPerProduct() {
+		transactionTemplate.executeWithoutResult(status -> productRepository.findAll());
+
+		assertEquals(4, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void productsWithCategoryAndStockLoadInOneStatement() {
+		transactionTemplate.executeWithoutResult(status -> {
+			List<Product> products = productRepository.findAllWithCategory();
+			assertEquals(3, products.size());
+			for (Product product : products) {
+				product.getCategory().getName();
+				product.getStock().getStock();
+			}
+		});
+
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void referenceDataIsServedFromTheSecondLevelCache() {
+		transactionTemplate.executeWithoutResult(status -> paymentMethodRepository.findById(1).orElseThrow());
+		transactionTemplate.executeWithoutResult(status -> paymentMethodRepository.findById(1).orElseThrow());
+		transactionTemplate.executeWithoutResult(status -> orderRepository.findById(1).orElseThrow().getPaymentMethod().getName());
+
+		assertEquals(2, statistics.getPrepareStatementCount());
+		assertEquals(2, statistics.getDomainDataRegionStatistics("metodos_pago").getHitCount());
+		assertEquals(1, statistics.getDomainDataRegionStatistics("metodos_pago").getPutCount());
+	}
+}
@@ -0,0 +1,49 @@
+package co.edu.unbosque.electroshopv2.service;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.Test;
+
+import co.edu.unbosque.electroshopv2.exception.CardNotValidException;
+import co.edu.unbosque.electroshopv2.model.CardDTO;
+
+class CardValidatorTests {
+
+	private final CardValidator validator = new CardValidator(
+			Clock.fixed(Instant.parse("2026-10-17T12:00:00Z"), ZoneOffset.UTC));
+
+	@Test
+	void acceptsSeparatedNumbersThatPassLuhn() {
+		assertDoesNotThrow(() -> validator.validate(new CardDTO("4111-1111-1111-1111", "10/26", "123")));
+		assertDoesNotThrow(() -> validator.validate(new CardDTO("5500 0000 0000 0004", "0130", "999")));
+	}
+
+	@Test
+	void rejectsNumbersThatFailLuhn() {
+		assertEquals("El número de la tarjeta no es válido", rejectionOf(new CardDTO("1234567890123456", "12/30", "123")));
+	}
+
+	@Test
+	void rejectsLettersAndWrongLengths() {
+		assertEquals("Hay caracteres en la tarjeta", rejectionOf(new CardDTO("4111-1111-1111-111a", "12/30", "123")));
+		assertEquals("Número de tarjeta no válido", rejectionOf(new CardDTO("4111-1111-1111-11", "12/30", "123")));
+		assertEquals("Hay caracteres en el CVC", rejectionOf(new CardDTO("4111111111111111", "12/30", "1a3")));
+	}
+
+	@Test
+	void rejectsExpiredAndMalformedExpirations() {
+		assertEquals("La tarjeta está vencida", rejectionOf(new CardDTO("4111111111111111", "09/26", "123")));
+		assertEquals("La expiración es incorrecta", rejectionOf(new CardDTO("4111111111111111", "13/30", "123")));
+		assertEquals("Hay caracteres en la expiración", rejectionOf(new CardDTO("4111111111111111", "1x/30", "123")));
+	}
+
+	private String rejectionOf(CardDTO card) {
+		return assertThrows(CardNotValidException.class, () -> validator.validate(card)).getMessage();
+	}
+}
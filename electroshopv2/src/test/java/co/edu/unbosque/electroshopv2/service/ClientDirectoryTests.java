@@ -0,0 +1,79 @@
+package co.edu.unbosque.electroshopv2.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import co.edu.unbosque.electroshopv2.OrderTestSupport;
+import co.edu.unbosque.electroshopv2.exception.NotFoundException;
+import co.edu.unbosque.electroshopv2.model.Client;
+import co.edu.unbosque.electroshopv2.model.Order;
+import co.edu.unbosque.electroshopv2.model.OrderDTO;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ClientDirectoryTests extends OrderTestSupport {
+
+	@Autowired
+	private ClientDirectory clientDirectory;
+
+	@Autowired
+	private OrderService orderService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	void unknownClientsAreRejectedWithoutQueryingTheDatabase() {
+		assertThrows(NotFoundException.class, () -> clientDirectory.checkClient("404"));
+		assertThrows(NotFoundException.class, () -> clientDirectory.checkClient(null));
+
+		assertEquals(0, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void knownClientsAreConfirmedOnceAndOrdersOnlyReferenceThem() {
+		clientDirectory.checkClient("1234517891");
+		assertEquals(1, statistics.getPrepareStatementCount());
+
+		statistics.clear();
+		clientDirectory.checkClient("1234517891");
+		assertEquals(0, statistics.getPrepareStatementCount());
+
+		Order order = orderService.createOrder(new OrderDTO(null, "1234517891", null, 999900L));
+		assertNotNull(order.getOrderId());
+		assertEquals(0, statistics.getEntityStatistics(Client.class.getName()).getLoadCount());
+		assertEquals("1234517891", jdbcTemplate.queryForObject("SELECT id_cliente FROM pedidos WHERE id_pedido = ?", String.class, order.getOrderId()));
+	}
+
+	@Test
+	void clientsAddedAfterTheLoadAreAcceptedOnceTheFilterIsRebuilt() {
+		jdbcTemplate.update("INSERT INTO clientes (id_cliente, nom_cliente, edad_cliente, direccion) VALUES ('99', 'Otro', 30, 'Calle 1')");
+		assertThrows(NotFoundException.class, () -> clientDirectory.checkClient("99"));
+
+		clientDirectory.load();
+
+		clientDirectory.checkClient("99");
+	}
+}
@@ -0,0 +1,48 @@
+package co.edu.unbosque.electroshopv2.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+@SpringBootTest(properties = { "electroshop.datasource.validate=true", "server.tomcat.threads.max=10",
+		"spring.task.execution.pool.core-size=4", "spring.datasource.hikari.maximum-pool-size=15",
+		"spring.datasource.hikari.minimum-idle=15" })
+@ActiveProfiles("test")
+class DataSourcePoolValidatorTests {
+
+	@Autowired
+	private DataSourcePoolValidator validator;
+
+	@Test
+	void acceptsAPoolSizedWithinTheWorkerThreads() {
+		HikariDataSource hikari = new HikariDataSource();
+		hikari.setJdbcUrl("jdbc:mysql://localhost:3306/tienda_electroshop?rewriteBatchedStatements=true");
+		hikari.setMaximumPoolSize(15);
+		hikari.setMinimumIdle(15);
+		hikari.addDataSourceProperty("cachePrepStmts", "true");
+		hikari.addDataSourceProperty("useServerPrepStmts", "true");
+
+		assertTrue(validator.problems(hikari).isEmpty());
+	}
+
+	@Test
+	void reportsOversizedPoolsAndMissingDriverCaches() {
+		HikariDataSource hikari = new HikariDataSource();
+		hikari.setJdbcUrl("jdbc:mysql://localhost:3306/tienda_electroshop");
+		hikari.setMaximumPoolSize(40);
+		hikari.setMinimumIdle(5);
+
+		List<String> problems = validator.problems(hikari);
+
+		assertEquals(5, problems.size());
+		assertTrue(problems.get(0).contains("15 hilos"));
+	}
+}
@@ -0,0 +1,104 @@
+package co.edu.unbosque.electroshopv2.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doThrow;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.context.ActiveProfiles;
+
+import co.edu.unbosque.electroshopv2.exception.NoEnoughStockException;
+import co.edu.unbosque.electroshopv2.model.IdempotencyRecord;
+import co.edu.unbosque.electroshopv2.repository.IdempotencyRecordRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class IdempotencyServiceTests {
+
+	@Autowired
+	private IdempotencyService idempotencyService;
+
+	@SpyBean
+	private IdempotencyRecordRepository idempotencyRecordRepository;
+
+	@Test
+	void concurrentRetriesOfTheSameKeyRunTheWorkOnce() throws Exception {
+		String key = UUID.randomUUID().toString();
+		AtomicInteger executions = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService retries = Executors.newFixedThreadPool(16);
+		try {
+			List<Future<IdempotencyRecord>> responses = new ArrayList<>();
+			for (int i = 0; i < 16; i++) {
+				responses.add(retries.submit(() -> {
+					start.await();
+					return idempotencyService.execute(key, () -> {
+						executions.incrementAndGet();
+						return CompletableFuture.supplyAsync(() -> "Pedido creado",
+								CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS));
+					}).join();
+				}));
+			}
+			start.countDown();
+
+			IdempotencyRecord first = responses.get(0).get();
+			for (Future<IdempotencyRecord> response : responses) {
+				assertSame(first, response.get());
+			}
+		} finally {
+			retries.shutdown();
+		}
+		assertEquals(1, executions.get());
+		assertEquals("Pedido creado", idempotencyRecordRepository.findById(key).orElseThrow().getResponse());
+	}
+
+	@Test
+	void businessRejectionsAreReplayedButUnexpectedErrorsAreRetried() {
+		String rejectedKey = UUID.randomUUID().toString();
+		idempotencyService.execute(rejectedKey, () -> CompletableFuture.failedFuture(new NoEnoughStockException("No hay suficientes")));
+		IdempotencyRecord replay = idempotencyService.execute(rejectedKey, () -> {
+			throw new AssertionError("No debe volver a ejecutarse");
+		}).join();
+		assertEquals(409, replay.getStatus());
+
+		String failingKey = UUID.randomUUID().toString();
+		assertThrows(CompletionException.class, () -> idempotencyService.execute(failingKey, () -> {
+			throw new IllegalStateException("Base de datos caída");
+		}).join());
+		assertEquals(200, idempotencyService.execute(failingKey, () -> CompletableFuture.completedFuture("Pedido creado"))
+				.join().getStatus());
+	}
+
+	@Test
+	void aFailedLookupReleasesTheKeySoARetryRunsTheWork() {
+		String key = UUID.randomUUID().toString();
+		doThrow(new DataAccessResourceFailureException("Base de datos caída")).doReturn(Optional.empty())
+				.when(idempotencyRecordRepository).findById(key);
+
+		CompletionException error = assertThrows(CompletionException.class, () -> idempotencyService.execute(key, () -> {
+			throw new AssertionError("No debe ejecutarse si la consulta falla");
+		}).join());
+		assertEquals(DataAccessResourceFailureException.class, error.getCause().getClass());
+
+		assertEquals("Pedido creado", idempotencyService.execute(key, () -> CompletableFuture.completedFuture("Pedido creado"))
+				.orTimeout(5, TimeUnit.SECONDS).join().getResponse());
+	}
+}
@@ -0,0 +1,96 @@
+package co.edu.unbosque.electroshopv2.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(properties = { "electroshop.stock.mode=ledger", "electroshop.stock.flush-interval-ms=3600000" })
+@ActiveProfiles("test")
+@Sql({ "/sql/limpieza.sql", "/sql/inventario.sql" })
+class InventoryLedgerTests {
+
+	private static final int PRODUCT_ID = 1;
+
+	private static final int INITIAL_STOCK = 10;
+
+	@Autowired
+	private StockService stockService;
+
+	@Autowired
+	private InventoryLedger inventoryLedger;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void setUp() {
+		inventoryLedger.load();
+	}
+
+	@Test
+	void concurrentReservationsNeverOversellAndReachTheTableOnFlush() throws Exception {
+		int buyers = 100;
+		ExecutorService pool = Executors.newFixedThreadPool(16);
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicInteger reserved = new AtomicInteger();
+		List<Future<?>> futures = new ArrayList<>();
+		for (int i = 0; i < buyers; i++) {
+			futures.add(pool.submit(() -> {
+				start.await();
+				if (stockService.reserveStock(PRODUCT_ID, 1)) {
+					reserved.incrementAndGet();
+				}
+				return null;
+			}));
+		}
+		start.countDown();
+		for (Future<?> future : futures) {
+			future.get(30, TimeUnit.SECONDS);
+		}
+		pool.shutdown();
+
+		assertEquals(INITIAL_STOCK, reserved.get());
+		assertEquals(0, inventoryLedger.available(PRODUCT_ID));
+		assertEquals(INITIAL_STOCK, currentStock());
+
+		inventoryLedger.flush();
+
+		assertEquals(0, currentStock());
+	}
+
+	@Test
+	void reservationsInARolledBackTransactionReturnToTheLedger() {
+		transactionTemplate.executeWithoutResult(status -> {
+			assertTrue(stockService.reserveStock(PRODUCT_ID, 4));
+			status.setRollbackOnly();
+		});
+
+		assertEquals(INITIAL_STOCK, inventoryLedger.available(PRODUCT_ID));
+		inventoryLedger.flush();
+		assertEquals(INITIAL_STOCK, currentStock());
+	}
+
+	private int currentStock() {
+		return jdbcTemplate.queryForObject("SELECT cantidad_stock FROM inventarios WHERE id_producto = ?", Integer.class, PRODUCT_ID);
+	}
+}
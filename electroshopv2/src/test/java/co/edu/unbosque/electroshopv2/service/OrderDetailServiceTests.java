@@ -0,0 +1,97 @@
+package co.edu.unbosque.electroshopv2.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import co.edu.unbosque.electroshopv2.OrderTestSupport;
+import co.edu.unbosque.electroshopv2.exception.NoEnoughStockException;
+import co.edu.unbosque.electroshopv2.model.Order;
+import co.edu.unbosque.electroshopv2.model.OrderDTO;
+import co.edu.unbosque.electroshopv2.model.OrderDetailDTO;
+import co.edu.unbosque.electroshopv2.model.PaymentMethod;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderDetailServiceTests extends OrderTestSupport {
+
+	@Autowired
+	private OrderService orderService;
+
+	@Autowired
+	private OrderDetailService orderDetailService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate.update("INSERT INTO productos (id_producto, nom_producto, precio_producto, id_categoria) VALUES (2, 'Cargador APPLE MagSafe', 219000, 1)");
+		jdbcTemplate.update("UPDATE inventarios SET cantidad_stock = 100 WHERE id_producto = 1");
+		jdbcTemplate.update("INSERT INTO inventarios (id_stock, id_producto, cantidad_stock) VALUES (2, 2, 5)");
+	}
+
+	@Test
+	void createOrderReturnsGeneratedIdIgnoringTheClientSuppliedOne() {
+		Order order = orderService.createOrder(newOrderDTO(22));
+
+		assertNotNull(order.getOrderId());
+		assertNotEquals(22, order.getOrderId());
+	}
+
+	@Test
+	void detailsAttachToTheGivenOrderEvenWhenANewerOrderExists() {
+		Order first = orderService.createOrder(newOrderDTO(1));
+		Order newer = orderService.createOrder(newOrderDTO(2));
+
+		orderDetailService.addDetails(first, List.of(new OrderDetailDTO(first.getOrderId(), 1, 2)));
+
+		assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM detalles_pedido WHERE id_pedido = ?", Integer.class, first.getOrderId()));
+		assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM detalles_pedido WHERE id_pedido = ?", Integer.class, newer.getOrderId()));
+	}
+
+	@Test
+	void addDetailsMergesRepeatedProductsAndReservesEveryLine() {
+		Order order = orderService.createOrder(newOrderDTO(1));
+
+		orderDetailService.addDetails(order, List.of(new OrderDetailDTO(order.getOrderId(), 1, 2),
+				new OrderDetailDTO(order.getOrderId(), 2, 1), new OrderDetailDTO(order.getOrderId(), 1, 3)));
+
+		assertEquals(5, jdbcTemplate.queryForObject("SELECT cantidad_producto_pedido FROM detalles_pedido WHERE id_pedido = ? AND id_producto = 1", Integer.class, order.getOrderId()));
+		assertEquals(95, stockOf(1));
+		assertEquals(4, stockOf(2));
+	}
+
+	@Test
+	void addDetailsReservesNothingWhenOneLineHasNotEnoughStock() {
+		Order order = orderService.createOrder(newOrderDTO(1));
+		List<OrderDetailDTO> details = List.of(new OrderDetailDTO(order.getOrderId(), 1, 2),
+				new OrderDetailDTO(order.getOrderId(), 2, 6));
+
+		assertThrows(NoEnoughStockException.class, () -> orderDetailService.addDetails(order, details));
+
+		assertEquals(100, stockOf(1));
+		assertEquals(5, stockOf(2));
+		assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM detalles_pedido", Integer.class));
+	}
+
+	private int stockOf(int productId) {
+		return jdbcTemplate.queryForObject("SELECT cantidad_stock FROM inventarios WHERE id_producto = ?", Integer.class, productId);
+	}
+
+	private OrderDTO newOrderDTO(Integer orderId) {
+		PaymentMethod paymentMethod = new PaymentMethod();
+		paymentMethod.setMethodId(1);
+		return new OrderDTO(orderId, CLIENT_ID, paymentMethod, 1999800L);
+	}
+}
@@ -0,0 +1,83 @@
+package co.edu.unbosque.electroshopv2.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import co.edu.unbosque.electroshopv2.OrderTestSupport;
+import co.edu.unbosque.electroshopv2.exception.CardNotValidException;
+import co.edu.unbosque.electroshopv2.exception.QueueFullException;
+import co.edu.unbosque.electroshopv2.model.CardDTO;
+import co.edu.unbosque.electroshopv2.model.OrderDTO;
+import co.edu.unbosque.electroshopv2.model.OrderDetailDTO;
+import co.edu.unbosque.electroshopv2.model.OrderResponseDTO;
+import co.edu.unbosque.electroshopv2.model.OrderTicketDTO;
+import co.edu.unbosque.electroshopv2.model.PaymentMethod;
+import co.edu.unbosque.electroshopv2.model.RequestOrderDTO;
+
+@SpringBootTest(properties = { "electroshop.queue.workers=1", "electroshop.queue.capacity=2" })
+@ActiveProfiles("test")
+class OrderQueueServiceTests extends OrderTestSupport {
+
+	@Autowired
+	private OrderQueueService orderQueueService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void stopTheWorkers() throws InterruptedException {
+		orderQueueService.stop();
+	}
+
+	@Test
+	void aFullQueueRejectsOrdersAndABatchSettlesEachQueuedOrder() throws Exception {
+		OrderTicketDTO accepted = orderQueueService.submit(newRequest("4111111111111111", 3));
+		OrderTicketDTO outOfStock = orderQueueService.submit(newRequest("4111111111111111", 20));
+		assertThrows(QueueFullException.class, () -> orderQueueService.submit(newRequest("4111111111111111", 1)));
+		assertEquals(OrderTicketDTO.PENDING, orderQueueService.status(accepted.getToken()).orElseThrow().getStatus());
+
+		orderQueueService.processNextBatch();
+
+		OrderTicketDTO completed = orderQueueService.status(accepted.getToken()).orElseThrow();
+		assertEquals(OrderTicketDTO.COMPLETED, completed.getStatus());
+		assertEquals(200, completed.getCode());
+		assertEquals(OrderResponseDTO.APPROVED, completed.getOrder().getPaymentStatus());
+		assertEquals(3, completed.getOrder().getDetails().get(0).getQuantity());
+		OrderTicketDTO rejected = orderQueueService.status(outOfStock.getToken()).orElseThrow();
+		assertEquals(OrderTicketDTO.REJECTED, rejected.getStatus());
+		assertEquals(409, rejected.getCode());
+		assertEquals(7, jdbcTemplate.queryForObject("SELECT cantidad_stock FROM inventarios WHERE id_producto = 1", Integer.class));
+	}
+
+	@Test
+	void invalidCardsAreRejectedBeforeQueueing() {
+		assertThrows(CardNotValidException.class, () -> orderQueueService.submit(newRequest("4111-1111-1111-111a", 1)));
+		assertTrue(orderQueueService.status("desconocido").isEmpty());
+	}
+
+	@Test
+	void aQueueWithoutWorkersIsRejectedAtStartup() {
+		OrderQueueService withoutWorkers = new OrderQueueService();
+		ReflectionTestUtils.setField(withoutWorkers, "workers", 0);
+
+		assertThrows(IllegalArgumentException.class, withoutWorkers::start);
+	}
+
+	private RequestOrderDTO newRequest(String card, int quantity) {
+		PaymentMethod paymentMethod = new PaymentMethod();
+		paymentMethod.setMethodId(1);
+		OrderDTO order = new OrderDTO(1, "1234517891", paymentMethod, 999900L * quantity);
+		return new RequestOrderDTO(order, new CardDTO(card, "12/30", "123"), List.of(new OrderDetailDTO(1, 1, quantity)));
+	}
+}
@@ -0,0 +1,172 @@
+package co.edu.unbosque.electroshopv2.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import co.edu.unbosque.electroshopv2.OrderTestSupport;
+import co.edu.unbosque.electroshopv2.exception.CardNotValidException;
+import co.edu.unbosque.electroshopv2.model.CardDTO;
+import co.edu.unbosque.electroshopv2.model.OrderDTO;
+import co.edu.unbosque.electroshopv2.model.OrderDetailDTO;
+import co.edu.unbosque.electroshopv2.model.OrderResponseDTO;
+import co.edu.unbosque.electroshopv2.model.PaymentMethod;
+import co.edu.unbosque.electroshopv2.model.RequestOrderDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OrderWorkflowServiceTests extends OrderTestSupport {
+
+	private static final long PAYMENT_LATENCY_MS = 500;
+
+	@MockBean
+	private PaymentAuthorizer paymentAuthorizer;
+
+	@SpyBean
+	private OrderService orderService;
+
+	@Autowired
+	private OrderWorkflowService orderWorkflowService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void connectionsAreHeldOnlyForTheSqlWorkNotWhileThePaymentIsAuthorized() throws Exception {
+		HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+		AtomicInteger activeDuringAuthorization = new AtomicInteger(-1);
+		when(paymentAuthorizer.authorize(any())).thenAnswer(invocation -> {
+			activeDuringAuthorization.set(pool.getActiveConnections());
+			return CompletableFuture.supplyAsync(Instant::now,
+					CompletableFuture.delayedExecutor(PAYMENT_LATENCY_MS, TimeUnit.MILLISECONDS));
+		});
+		orderWorkflowService.processOrder(newRequest(1)).join();
+
+		Timer usage = meterRegistry.get("hikaricp.connections.usage").timer();
+		double heldBefore = usage.totalTime(TimeUnit.MILLISECONDS);
+		long start = System.nanoTime();
+		OrderResponseDTO response = orderWorkflowService.processOrder(newRequest(2)).join();
+		double elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		double held = usage.totalTime(TimeUnit.MILLISECONDS) - heldBefore;
+
+		assertEquals(OrderResponseDTO.APPROVED, response.getPaymentStatus());
+		assertEquals(2, response.getDetails().get(0).getQuantity());
+		assertEquals(0, activeDuringAuthorization.get());
+		assertTrue(elapsed >= PAYMENT_LATENCY_MS);
+		assertTrue(held < PAYMENT_LATENCY_MS, "Conexión retenida " + held + " ms de " + elapsed + " ms");
+		assertEquals(7, stockOf(1));
+	}
+
+	@Test
+	void requestsWithAnIdempotencyKeyHoldNoConnectionWhileThePaymentIsAuthorized() throws Exception {
+		HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+		AtomicInteger activeDuringAuthorization = new AtomicInteger(-1);
+		when(paymentAuthorizer.authorize(any())).thenAnswer(invocation -> {
+			activeDuringAuthorization.set(pool.getActiveConnections());
+			return CompletableFuture.completedFuture(Instant.now());
+		});
+		String body = """
+				{"orderDTO": {"orderId": 1, "clientDTO": "1234517891", "paymentMethod": {"methodId": 1}, "totalValue": 999900},
+				 "cardDTO": {"number": "4111111111111111", "expiration": "12/30", "cvc": "123"},
+				 "orderDetails": [{"order": 1, "product": 1, "quantity": 1}]}
+				""";
+
+		MvcResult pending = mockMvc.perform(post("/api/pedidos/procesar").contentType(MediaType.APPLICATION_JSON)
+				.header("Idempotency-Key", UUID.randomUUID().toString()).content(body)).andExpect(request().asyncStarted()).andReturn();
+		mockMvc.perform(asyncDispatch(pending)).andExpect(status().isOk());
+
+		assertEquals(0, activeDuringAuthorization.get());
+	}
+
+	@Test
+	void rejectedPaymentsReleaseTheStockAndRemoveTheOrder() {
+		when(paymentAuthorizer.authorize(any()))
+				.thenReturn(CompletableFuture.failedFuture(new CardNotValidException("Compra rechazada")));
+
+		CompletionException error = assertThrows(CompletionException.class,
+				() -> orderWorkflowService.processOrder(newRequest(4)).join());
+
+		assertInstanceOf(CardNotValidException.class, error.getCause());
+		assertEquals(10, stockOf(1));
+		assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pedidos", Integer.class));
+		assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM detalles_pedido", Integer.class));
+	}
+
+	@Test
+	void aFailedCompensationOnlyAffectsItsOwnOrderInTheBatch() {
+		when(paymentAuthorizer.authorize(any())).thenReturn(
+				CompletableFuture.failedFuture(new CardNotValidException("Compra rechazada")),
+				CompletableFuture.completedFuture(Instant.now()),
+				CompletableFuture.failedFuture(new CardNotValidException("Compra rechazada")));
+		doThrow(new IllegalStateException("Base de datos caída")).doCallRealMethod().when(orderService).cancelOrder(any());
+
+		List<CompletableFuture<OrderResponseDTO>> results = orderWorkflowService
+				.processOrders(List.of(newRequest(1), newRequest(1), newRequest(1)));
+
+		CompletionException cancelError = assertThrows(CompletionException.class, () -> results.get(0).join());
+		assertInstanceOf(IllegalStateException.class, cancelError.getCause());
+		assertInstanceOf(CardNotValidException.class, cancelError.getCause().getSuppressed()[0]);
+		assertEquals(OrderResponseDTO.APPROVED, results.get(1).join().getPaymentStatus());
+		CompletionException rejected = assertThrows(CompletionException.class, () -> results.get(2).join());
+		assertInstanceOf(CardNotValidException.class, rejected.getCause());
+		assertEquals(8, stockOf(1));
+		assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pedidos", Integer.class));
+	}
+
+	private int stockOf(int productId) {
+		return jdbcTemplate.queryForObject("SELECT cantidad_stock FROM inventarios WHERE id_producto = ?", Integer.class, productId);
+	}
+
+	private RequestOrderDTO newRequest(int quantity) {
+		PaymentMethod paymentMethod = new PaymentMethod();
+		paymentMethod.setMethodId(1);
+		OrderDTO order = new OrderDTO(1, "1234517891", paymentMethod, 999900L * quantity);
+		return new RequestOrderDTO(order, new CardDTO("4111111111111111", "12/30", "123"),
+				List.of(new OrderDetailDTO(1, 1, quantity)));
+	}
+}
@@ -0,0 +1,94 @@
+package co.edu.unbosque.electroshopv2.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import co.edu.unbosque.electroshopv2.exception.InvalidQuantityException;
+import co.edu.unbosque.electroshopv2.exception.NotFoundException;
+import co.edu.unbosque.electroshopv2.exception.TotalMismatchException;
+import co.edu.unbosque.electroshopv2.model.OrderDTO;
+import co.edu.unbosque.electroshopv2.model.OrderDetailDTO;
+import co.edu.unbosque.electroshopv2.model.RequestOrderDTO;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Sql("/sql/limpieza.sql")
+class PriceTableTests {
+
+	@Autowired
+	private PriceTable priceTable;
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate.update("INSERT INTO categorias_producto (id_categoria_producto, nombre_producto) VALUES (1, 'Celulares')");
+		jdbcTemplate.update("INSERT INTO productos (id_producto, nom_producto, precio_producto, id_categoria) VALUES (1, 'Celular REDMI Note 13 Pro', 999900, 1), (2, 'Cargador APPLE MagSafe', 219000, 1)");
+		priceTable.load();
+	}
+
+	@Test
+	void checkTotalAddsThePriceOfEveryLine() {
+		assertEquals(2218800L, priceTable.checkTotal(newRequest(2218800L, 2, 1)));
+		assertThrows(TotalMismatchException.class, () -> priceTable.checkTotal(newRequest(50000L, 2, 1)));
+	}
+
+	@Test
+	void checkTotalRejectsLinesWithoutAPositiveQuantity() {
+		assertThrows(InvalidQuantityException.class, () -> priceTable.checkTotal(newRequest(2780700L, 3, -1)));
+		assertThrows(InvalidQuantityException.class, () -> priceTable.checkTotal(newRequest(999900L, 1, 0)));
+		RequestOrderDTO missing = new RequestOrderDTO(new OrderDTO(1, "1234517891", null, null), null,
+				List.of(new OrderDetailDTO(1, 1, null)));
+		assertThrows(InvalidQuantityException.class, () -> priceTable.checkTotal(missing));
+
+		jdbcTemplate.update("INSERT INTO productos (id_producto, nom_producto, precio_producto, id_categoria) VALUES (41, 'Celular de lujo', ?, 1)",
+				Long.MAX_VALUE / 2);
+		RequestOrderDTO overflow = new RequestOrderDTO(new OrderDTO(1, "1234517891", null, 1L), null,
+				List.of(new OrderDetailDTO(1, 41, 3)));
+		assertThrows(TotalMismatchException.class, () -> priceTable.checkTotal(overflow));
+	}
+
+	@Test
+	void checkTotalFillsInAMissingTotal() {
+		RequestOrderDTO request = newRequest(null, 1, 1);
+
+		priceTable.checkTotal(request);
+
+		assertEquals(1218900L, request.getOrderDTO().getTotalValue());
+	}
+
+	@Test
+	void priceChangesAndNewProductsArePickedUp() {
+		productService.updateProductValue(1, 899900L);
+		jdbcTemplate.update("INSERT INTO productos (id_producto, nom_producto, precio_producto, id_categoria) VALUES (40, 'Celular Samsung Galaxy A55', 1599900, 1)");
+
+		RequestOrderDTO phone = new RequestOrderDTO(new OrderDTO(1, "1234517891", null, 899900L), null,
+				List.of(new OrderDetailDTO(1, 1, 1)));
+		assertEquals(899900L, priceTable.checkTotal(phone));
+		RequestOrderDTO newProduct = new RequestOrderDTO(new OrderDTO(1, "1234517891", null, 1599900L), null,
+				List.of(new OrderDetailDTO(1, 40, 1)));
+		assertEquals(1599900L, priceTable.checkTotal(newProduct));
+		RequestOrderDTO unknown = new RequestOrderDTO(new OrderDTO(1, "1234517891", null, 1L), null,
+				List.of(new OrderDetailDTO(1, 404, 1)));
+		assertThrows(NotFoundException.class, () -> priceTable.checkTotal(unknown));
+	}
+
+	private RequestOrderDTO newRequest(Long total, int phones, int chargers) {
+		return new RequestOrderDTO(new OrderDTO(1, "1234517891", null, total), null,
+				List.of(new OrderDetailDTO(1, 1, phones), new OrderDetailDTO(1, 2, chargers)));
+	}
+}
@@ -0,0 +1,64 @@
+package co.edu.unbosque.electroshopv2.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import co.edu.unbosque.electroshopv2.exception.NotFoundException;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Sql("/sql/limpieza.sql")
+class ProductServiceTests {
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate.update("INSERT INTO categorias_producto (id_categoria_producto, nombre_producto) VALUES (9, 'Audio')");
+		jdbcTemplate.update("INSERT INTO productos (id_producto, nom_producto, precio_producto, id_categoria) VALUES (9, 'Parlante BOSE SoundLink Flex Negro', 549900, 9)");
+		cacheManager.getCache(ProductService.PRODUCT_CACHE).clear();
+	}
+
+	@Test
+	void findProductServesRepeatedLookupsFromMemory() {
+		assertEquals(549900L, productService.findProduct(9).getValue());
+		jdbcTemplate.update("UPDATE productos SET precio_producto = 1 WHERE id_producto = 9");
+
+		assertEquals(549900L, productService.findProduct(9).getValue());
+		assertEquals("Audio", productService.findProduct(9).getCategory().getName());
+	}
+
+	@Test
+	void updateProductValueInvalidatesTheCachedProduct() {
+		productService.findProduct(9);
+
+		productService.updateProductValue(9, 499900L);
+
+		assertEquals(499900L, productService.findProduct(9).getValue());
+	}
+
+	@Test
+	void findProductsLeavesOutUnknownProducts() {
+		assertFalse(productService.findProducts(List.of(9, 404)).containsKey(404));
+		assertThrows(NotFoundException.class, () -> productService.findProduct(404));
+	}
+}
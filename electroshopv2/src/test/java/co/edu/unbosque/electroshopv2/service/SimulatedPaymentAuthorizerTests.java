@@ -0,0 +1,46 @@
+package co.edu.unbosque.electroshopv2.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import co.edu.unbosque.electroshopv2.exception.CardNotValidException;
+import co.edu.unbosque.electroshopv2.model.CardDTO;
+
+class SimulatedPaymentAuthorizerTests {
+
+	private final CardDTO card = new CardDTO("4111111111111111", "12/30", "123");
+
+	@Test
+	void authorizeReturnsBeforeTheGatewayResponds() throws Exception {
+		SimulatedPaymentAuthorizer authorizer = new SimulatedPaymentAuthorizer(200, 0);
+
+		CompletableFuture<Instant> payment = authorizer.authorize(card);
+
+		assertFalse(payment.isDone());
+		assertNotNull(payment.get(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	void authorizeCompletesExceptionallyWhenTheGatewayRejects() {
+		SimulatedPaymentAuthorizer authorizer = new SimulatedPaymentAuthorizer(0, 1);
+
+		ExecutionException rejected = assertThrows(ExecutionException.class,
+				() -> authorizer.authorize(card).get(5, TimeUnit.SECONDS));
+
+		assertInstanceOf(CardNotValidException.class, rejected.getCause());
+	}
+
+	@Test
+	void rejectsFailureRatesOutsideZeroAndOne() {
+		assertThrows(IllegalArgumentException.class, () -> new SimulatedPaymentAuthorizer(30, 1.5));
+	}
+}
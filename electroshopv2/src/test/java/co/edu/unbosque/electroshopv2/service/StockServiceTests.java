@@ -0,0 +1,79 @@
+package co.edu.unbosque.electroshopv2.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Sql({ "/sql/limpieza.sql", "/sql/inventario.sql" })
+class StockServiceTests {
+
+	private static final int PRODUCT_ID = 1;
+
+	private static final int INITIAL_STOCK = 10;
+
+	@Autowired
+	private StockService stockService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void reserveStockDecrementsWhenEnoughStock() {
+		assertTrue(stockService.reserveStock(PRODUCT_ID, 4));
+		assertEquals(INITIAL_STOCK - 4, currentStock());
+	}
+
+	@Test
+	void reserveStockFailsWithoutTouchingTheRowWhenNotEnoughStock() {
+		assertFalse(stockService.reserveStock(PRODUCT_ID, INITIAL_STOCK + 1));
+		assertEquals(INITIAL_STOCK, currentStock());
+	}
+
+	@Test
+	void concurrentReservationsNeverOversell() throws Exception {
+		int buyers = 100;
+		ExecutorService pool = Executors.newFixedThreadPool(16);
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicInteger reserved = new AtomicInteger();
+		List<Future<?>> futures = new ArrayList<>();
+		for (int i = 0; i < buyers; i++) {
+			futures.add(pool.submit(() -> {
+				start.await();
+				if (stockService.reserveStock(PRODUCT_ID, 1)) {
+					reserved.incrementAndGet();
+				}
+				return null;
+			}));
+		}
+		start.countDown();
+		for (Future<?> future : futures) {
+			future.get(30, TimeUnit.SECONDS);
+		}
+		pool.shutdown();
+
+		assertEquals(INITIAL_STOCK, reserved.get());
+		assertEquals(0, currentStock());
+	}
+
+	private int currentStock() {
+		return jdbcTemplate.queryForObject("SELECT cantidad_stock FROM inventarios WHERE id_producto = ?", Integer.class, PRODUCT_ID);
+	}
+}
@@ -0,0 +1,115 @@
+package co.edu.unbosque.electroshopv2.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import co.edu.unbosque.electroshopv2.repository.StockRepository;
+
+@SpringBootTest(properties = { "electroshop.stock.mode=striped", "electroshop.stock.stripes=4",
+		"electroshop.stock.rebalance-interval-ms=3600000" })
+@ActiveProfiles("test")
+@Sql({ "/sql/limpieza.sql", "/sql/inventario.sql" })
+class StripedStockReserverTests {
+
+	private static final int PRODUCT_ID = 1;
+
+	@Autowired
+	private StockService stockService;
+
+	@Autowired
+	private StripedStockReserver stripedStockReserver;
+
+	@Autowired
+	private StockRepository stockRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void rebalanceSpreadsTheStockWhileGetStockKeepsTheTotal() {
+		assertTrue(stockService.reserveStock(PRODUCT_ID, 1));
+		stripedStockReserver.rebalance();
+
+		assertEquals(List.of(2, 2, 2, 2), jdbcTemplate.queryForList(
+				"SELECT cantidad_stock FROM inventarios_franjas WHERE id_producto = ? ORDER BY num_franja", Integer.class, PRODUCT_ID));
+		assertEquals(1, baseStock());
+		assertEquals(9, stockRepository.findById(1).orElseThrow().getStock());
+	}
+
+	@Test
+	void reservationsFallBackToNeighboursAndTheBaseRow() {
+		stripedStockReserver.rebalance();
+		assertTrue(stockService.reserveStock(PRODUCT_ID, 1));
+		stripedStockReserver.rebalance();
+
+		for (int i = 0; i < 4; i++) {
+			assertTrue(stockService.reserveStock(PRODUCT_ID, 2));
+		}
+		assertTrue(stockService.reserveStock(PRODUCT_ID, 1));
+		assertFalse(stockService.reserveStock(PRODUCT_ID, 1));
+		assertEquals(0, stockRepository.findById(1).orElseThrow().getStock());
+	}
+
+	@Test
+	void reservationsLargerThanAStripeAreSplitAcrossStripes() {
+		stripedStockReserver.rebalance();
+
+		assertTrue(stockService.reserveStock(PRODUCT_ID, 3));
+		assertEquals(7, stockRepository.findById(1).orElseThrow().getStock());
+
+		assertFalse(stockService.reserveStock(PRODUCT_ID, 8));
+		assertEquals(7, stockRepository.findById(1).orElseThrow().getStock());
+
+		assertTrue(stockService.reserveStock(PRODUCT_ID, 7));
+		assertEquals(0, stockRepository.findById(1).orElseThrow().getStock());
+	}
+
+	@Test
+	void concurrentReservationsNeverOversell() throws Exception {
+		stockService.reserveStock(PRODUCT_ID, 0);
+		stripedStockReserver.rebalance();
+
+		ExecutorService pool = Executors.newFixedThreadPool(16);
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicInteger reserved = new AtomicInteger();
+		List<Future<?>> futures = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			futures.add(pool.submit(() -> {
+				start.await();
+				if (stockService.reserveStock(PRODUCT_ID, 1)) {
+					reserved.incrementAndGet();
+				}
+				return null;
+			}));
+		}
+		start.countDown();
+		for (Future<?> future : futures) {
+			future.get(30, TimeUnit.SECONDS);
+		}
+		pool.shutdown();
+
+		assertEquals(10, reserved.get());
+		assertEquals(0, stockRepository.findById(1).orElseThrow().getStock());
+	}
+
+	private int baseStock() {
+		return jdbcTemplate.queryForObject("SELECT cantidad_stock FROM inventarios WHERE id_producto = ?", Integer.class, PRODUCT_ID);
+	}
+}
@@ -0,0 +1,3 @@
+INSERT INTO categorias_producto (id_categoria_producto, nombre_producto) VALUES (1, 'Videojuegos');
+INSERT INTO productos (id_producto, nom_producto, precio_producto, id_categoria) VALUES (1, 'Xbox series S', 1699900, 1);
+INSERT INTO inventarios (id_stock, id_producto, cantidad_stock) VALUES (1, 1, 10);
@@ -0,0 +1,8 @@
+DELETE FROM inventarios_franjas;
+DELETE FROM detalles_pedido;
+DELETE FROM pedidos;
+DELETE FROM inventarios;
+DELETE FROM productos;
+DELETE FROM categorias_producto;
+DELETE FROM metodos_pago;
+DELETE FROM clientes;
@@ -0,0 +1,5 @@
+INSERT INTO categorias_producto (id_categoria_producto, nombre_producto) VALUES (1, 'Celulares');
+INSERT INTO productos (id_producto, nom_producto, precio_producto, id_categoria) VALUES (1, 'Celular REDMI Note 13 Pro', 999900, 1);
+INSERT INTO inventarios (id_stock, id_producto, cantidad_stock) VALUES (1, 1, 10);
+INSERT INTO metodos_pago (id_met_pago, nom_metodo_pago) VALUES (1, 'Debito');
+INSERT INTO clientes (id_cliente, nom_cliente, edad_cliente, direccion) VALUES ('1234517891', 'Nicole', 22, 'Calle 11');